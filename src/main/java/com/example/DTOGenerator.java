@@ -1,5 +1,6 @@
 package com.example;
 
+import com.example.encoding.PayloadCodec;
 import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
@@ -10,13 +11,14 @@ import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.RequestBody;
-import io.swagger.v3.parser.OpenAPIV3Parser;
 import org.apache.commons.io.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Utility class to generate DTO classes from a YAML specification.
@@ -28,41 +30,132 @@ public class DTOGenerator {
     private static final String SERVICE_TEMPLATE_FILE_PATH = "src/main/resources/java/service.mustache";
     private static final String RELATIVE_URLS_TEMPLATE_FILE_PATH = "src/main/resources/java/relativeurls.mustache";
     private static final String BASE_PATH_URLS_TEMPLATE_FILE_PATH = "src/main/resources/java/basepathurls.mustache";
+    private static final String DATA_PROVIDER_TEMPLATE_FILE_PATH = "src/main/resources/java/dataprovider.mustache";
     private static final String BASE_DTO_PACKAGE = "com.example.dto";
     private static final String REQUEST_DTO_PACKAGE = "com.example.dto.RequestDTO";
     private static final String RESPONSE_DTO_PACKAGE = "com.example.dto.ResponseDTO";
     private static final String SERVICE_PACKAGE = "com.example.service";
     private static final String CONSTANTS_PACKAGE = "com.example.constants";
+    private static final String DATA_PROVIDER_PACKAGE = "com.example.dataprovider";
     private static final String BASE_DTO_OUTPUT_DIR = "src/main/java/com/example/dto";
     private static final String REQUEST_DTO_OUTPUT_DIR = "src/main/java/com/example/dto/RequestDTO";
     private static final String RESPONSE_DTO_OUTPUT_DIR = "src/main/java/com/example/dto/ResponseDTO";
     private static final String SERVICE_OUTPUT_DIR = "src/main/java/com/example/service";
     private static final String CONSTANTS_OUTPUT_DIR = "src/main/java/com/example/constants";
+    private static final String DATA_PROVIDER_OUTPUT_DIR = "src/main/java/com/example/dataprovider";
+    private static final String SKIP_VERIFICATION_PROPERTY = "skipSourceVerification";
+    private static TypeMapper typeMapper;
+    private static final GeneratedSourceVerifier SOURCE_VERIFIER = new GeneratedSourceVerifier(DTOGenerator::isGeneratedClass);
+    private static final Map<File, GeneratedSource> GENERATED_SOURCES = new LinkedHashMap<>();
 
-    public static void main(String[] args) {
+    public static void main(String[] args) throws Exception {
         try {
-            generateDTOsFromYaml();
-            generateBasePathURLsFromYaml();
-            generateServicesFromYaml();
-            generateRelativeURLsFromYaml();
+            // Spec files can be passed as arguments; external $refs between them are resolved once
+            List<String> specPaths = args.length > 0 ? Arrays.asList(args) : Collections.singletonList(YAML_FILE_PATH);
+            OpenAPI openAPI = new SpecResolver().load(specPaths);
+
+            generateDTOsFromYaml(openAPI);
+            generateBasePathURLsFromYaml(openAPI);
+            generateServicesFromYaml(openAPI);
+            generateRelativeURLsFromYaml(openAPI);
+            generateDataProvidersFromYaml(openAPI);
+            writeGeneratedSources();
             System.out.println("DTO, BasePathURLs, Service, and RelativeURLs generation completed successfully!");
         } catch (Exception e) {
             System.err.println("Error generating DTOs, BasePathURLs, Services, or RelativeURLs: " + e.getMessage());
-            e.printStackTrace();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the type mapper for DTO properties, configured from the system properties unless one was set
+     *
+     * @return the type mapper
+     */
+    public static synchronized TypeMapper getTypeMapper() {
+        if (typeMapper == null) {
+            try {
+                typeMapper = TypeMapper.fromSystemProperties();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read type mappings: " + e.getMessage(), e);
+            }
         }
+        return typeMapper;
+    }
+
+    /**
+     * Sets the type mapper for DTO properties, so custom type tables can be plugged in before {@link #main} runs
+     *
+     * @param mapper the type mapper to use
+     */
+    public static synchronized void setTypeMapper(TypeMapper mapper) {
+        typeMapper = mapper;
     }
 
+    /**
+     * Checks whether a class is generator output, so the verifier ignores stale compiled copies of it
+     * 
+     * @param className the fully qualified class name
+     * @return true if the generator owns the class
+     */
+    static boolean isGeneratedClass(String className) {
+        // The data provider package also holds the hand-written StreamingDataReader
+        return className.startsWith(BASE_DTO_PACKAGE + ".")
+                || className.startsWith(SERVICE_PACKAGE + ".")
+                || className.startsWith(CONSTANTS_PACKAGE + ".")
+                || (className.startsWith(DATA_PROVIDER_PACKAGE + ".") && className.endsWith("DataProvider"));
+    }
+    
+    /**
+     * Stages a generated source so it can be verified before anything is written
+     * 
+     * @param file the file to write the source to
+     * @param className the fully qualified class name
+     * @param javaCode the generated Java code
+     * @param description the kind and name of the class, used when logging the write
+     */
+    private static void addGeneratedSource(File file, String className, String javaCode, String description) {
+        GENERATED_SOURCES.put(file, new GeneratedSource(description, javaCode));
+        SOURCE_VERIFIER.add(className, javaCode);
+    }
+    
+    /**
+     * Compiles the staged sources in memory and writes them only if they compile
+     * 
+     * @throws IOException if an error occurs
+     */
+    private static void writeGeneratedSources() throws IOException {
+        if (!Boolean.getBoolean(SKIP_VERIFICATION_PROPERTY)) {
+            SOURCE_VERIFIER.verify();
+        }
+        
+        for (Map.Entry<File, GeneratedSource> entry : GENERATED_SOURCES.entrySet()) {
+            File file = entry.getKey();
+            GeneratedSource source = entry.getValue();
+            
+            // Check if the file already exists
+            if (file.exists()) {
+                System.out.println("Updating existing " + source.description());
+            } else {
+                System.out.println("Creating new " + source.description());
+            }
+            
+            FileUtils.writeStringToFile(file, source.javaCode(), "UTF-8");
+        }
+    }
+    
+    private record GeneratedSource(String description, String javaCode) {
+    }
+    
     /**
      * Generates or updates DTO classes from the YAML specification
      * 
+     * @param openAPI the parsed OpenAPI specification
      * @throws IOException if an error occurs
      */
-    private static void generateDTOsFromYaml() throws IOException {
+    private static void generateDTOsFromYaml(OpenAPI openAPI) throws IOException {
         System.out.println("Generating DTOs from YAML specification...");
         
-        // Parse the OpenAPI specification from YAML
-        OpenAPI openAPI = new OpenAPIV3Parser().read(YAML_FILE_PATH);
-        
         // Get the schemas from the components section
         Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
         
@@ -107,14 +200,7 @@ public class DTOGenerator {
                 String filePath = RESPONSE_DTO_OUTPUT_DIR + "/" + className + ".java";
                 File file = new File(filePath);
                 
-                // Check if the file already exists
-                if (file.exists()) {
-                    System.out.println("Updating existing response DTO class: " + className);
-                } else {
-                    System.out.println("Creating new response DTO class: " + className);
-                }
-                
-                FileUtils.writeStringToFile(file, javaCode, "UTF-8");
+                addGeneratedSource(file, RESPONSE_DTO_PACKAGE + "." + className, javaCode, "response DTO class: " + className);
             } else {
                 // Create request DTO
                 Map<String, Object> requestModel = createModelForTemplate(className, schema, false);
@@ -126,14 +212,7 @@ public class DTOGenerator {
                 String requestFilePath = REQUEST_DTO_OUTPUT_DIR + "/" + className + ".java";
                 File requestFile = new File(requestFilePath);
                 
-                // Check if the file already exists
-                if (requestFile.exists()) {
-                    System.out.println("Updating existing request DTO class: " + className);
-                } else {
-                    System.out.println("Creating new request DTO class: " + className);
-                }
-                
-                FileUtils.writeStringToFile(requestFile, requestJavaCode, "UTF-8");
+                addGeneratedSource(requestFile, REQUEST_DTO_PACKAGE + "." + className, requestJavaCode, "request DTO class: " + className);
                 
                 // Create response DTO with the same name
                 Map<String, Object> responseModel = createModelForTemplate(className, schema, true);
@@ -145,14 +224,7 @@ public class DTOGenerator {
                 String responseFilePath = RESPONSE_DTO_OUTPUT_DIR + "/" + className + ".java";
                 File responseFile = new File(responseFilePath);
                 
-                // Check if the file already exists
-                if (responseFile.exists()) {
-                    System.out.println("Updating existing response DTO class: " + className);
-                } else {
-                    System.out.println("Creating new response DTO class: " + className);
-                }
-                
-                FileUtils.writeStringToFile(responseFile, responseJavaCode, "UTF-8");
+                addGeneratedSource(responseFile, RESPONSE_DTO_PACKAGE + "." + className, responseJavaCode, "response DTO class: " + className);
             }
         }
     }
@@ -200,70 +272,7 @@ public class DTOGenerator {
                 var.put("description", prop.getValue().getDescription());
                 
                 // Map OpenAPI types to Java types
-                Schema propSchema = prop.getValue();
-                String type = propSchema.getType();
-                String format = propSchema.getFormat();
-                String dataType;
-                
-                if ("integer".equals(type)) {
-                    if ("int64".equals(format)) {
-                        dataType = "Long";
-                    } else {
-                        dataType = "Integer";
-                    }
-                } else if ("number".equals(type)) {
-                    if ("float".equals(format)) {
-                        dataType = "Float";
-                    } else {
-                        dataType = "Double";
-                    }
-                } else if ("boolean".equals(type)) {
-                    dataType = "Boolean";
-                } else if ("array".equals(type)) {
-                    // Handle array types properly by looking at the item type
-                    Schema itemsSchema = propSchema.getItems();
-                    if (itemsSchema != null) {
-                        String itemType = itemsSchema.getType();
-                        if ("integer".equals(itemType)) {
-                            if ("int64".equals(itemsSchema.getFormat())) {
-                                dataType = "List<Long>";
-                            } else {
-                                dataType = "List<Integer>";
-                            }
-                        } else if ("number".equals(itemType)) {
-                            if ("float".equals(itemsSchema.getFormat())) {
-                                dataType = "List<Float>";
-                            } else {
-                                dataType = "List<Double>";
-                            }
-                        } else if ("boolean".equals(itemType)) {
-                            dataType = "List<Boolean>";
-                        } else if (itemsSchema.get$ref() != null) {
-                            // Handle references to other schemas in array items
-                            String refType = getRefType(itemsSchema.get$ref());
-                            dataType = "List<" + refType + ">";
-                        } else {
-                            dataType = "List<String>";
-                        }
-                        imports.add("java.util.List");
-                    } else {
-                        dataType = "List<Object>";
-                        imports.add("java.util.List");
-                    }
-                } else if (propSchema.get$ref() != null) {
-                    // Handle references to other schemas
-                    dataType = getRefType(propSchema.get$ref());
-                } else if ("string".equals(type) && "date".equals(format)) {
-                    // Handle date format
-                    dataType = "LocalDate";
-                    imports.add("java.time.LocalDate");
-                } else if ("string".equals(type) && "date-time".equals(format)) {
-                    // Handle date-time format
-                    dataType = "LocalDateTime";
-                    imports.add("java.time.LocalDateTime");
-                } else {
-                    dataType = "String";
-                }
+                String dataType = getTypeMapper().getType(prop.getValue(), imports);
                 
                 var.put("datatypeWithEnum", dataType);
                 vars.add(var);
@@ -290,24 +299,67 @@ public class DTOGenerator {
      * @param ref the reference string (e.g., "#/components/schemas/SomeType")
      * @return the type name (e.g., "SomeType")
      */
-    private static String getRefType(String ref) {
+    static String getRefType(String ref) {
         if (ref != null && ref.startsWith("#/components/schemas/")) {
             return ref.substring("#/components/schemas/".length());
         }
         return "Object";
     }
     
+    /**
+     * Generates streaming TestNG data providers for the request DTOs
+     * 
+     * @param openAPI the parsed OpenAPI specification
+     * @throws IOException if an error occurs
+     */
+    private static void generateDataProvidersFromYaml(OpenAPI openAPI) throws IOException {
+        System.out.println("Generating data providers from YAML specification...");
+        
+        // Create the data provider output directory if it doesn't exist
+        File dataProviderOutputDir = new File(DATA_PROVIDER_OUTPUT_DIR);
+        if (!dataProviderOutputDir.exists()) {
+            dataProviderOutputDir.mkdirs();
+        }
+        
+        // Load the Mustache template for data providers
+        MustacheFactory mf = new DefaultMustacheFactory();
+        Mustache dataProviderMustache = mf.compile(DATA_PROVIDER_TEMPLATE_FILE_PATH);
+        
+        // Generate a data provider for each request DTO
+        for (String className : openAPI.getComponents().getSchemas().keySet()) {
+            if (className.endsWith("ResponseDTO")) {
+                continue;
+            }
+            
+            // Create a model for the Mustache template
+            Map<String, Object> model = new HashMap<>();
+            model.put("package", DATA_PROVIDER_PACKAGE);
+            model.put("dtoPackage", REQUEST_DTO_PACKAGE);
+            model.put("classname", className);
+            model.put("providerMethod", className.substring(0, 1).toLowerCase() + className.substring(1) + "Rows");
+            
+            // Generate the Java code using the Mustache template
+            StringWriter writer = new StringWriter();
+            dataProviderMustache.execute(writer, model).flush();
+            String javaCode = writer.toString();
+            
+            // Write the Java code to a file
+            String dataProviderClassName = className + "DataProvider";
+            File file = new File(DATA_PROVIDER_OUTPUT_DIR + "/" + dataProviderClassName + ".java");
+            
+            addGeneratedSource(file, DATA_PROVIDER_PACKAGE + "." + dataProviderClassName, javaCode, "data provider class: " + dataProviderClassName);
+        }
+    }
+    
     /**
      * Generates service classes from the YAML specification
      * 
+     * @param openAPI the parsed OpenAPI specification
      * @throws IOException if an error occurs
      */
-    private static void generateServicesFromYaml() throws IOException {
+    private static void generateServicesFromYaml(OpenAPI openAPI) throws IOException {
         System.out.println("Generating service classes from YAML specification...");
         
-        // Parse the OpenAPI specification from YAML
-        OpenAPI openAPI = new OpenAPIV3Parser().read(YAML_FILE_PATH);
-        
         // Create the service output directory if it doesn't exist
         File serviceOutputDir = new File(SERVICE_OUTPUT_DIR);
         if (!serviceOutputDir.exists()) {
@@ -409,14 +461,7 @@ public class DTOGenerator {
             String filePath = SERVICE_OUTPUT_DIR + "/" + className + ".java";
             File file = new File(filePath);
             
-            // Check if the file already exists
-            if (file.exists()) {
-                System.out.println("Updating existing service class: " + className);
-            } else {
-                System.out.println("Creating new service class: " + className);
-            }
-            
-            FileUtils.writeStringToFile(file, javaCode, "UTF-8");
+            addGeneratedSource(file, SERVICE_PACKAGE + "." + className, javaCode, "service class: " + className);
         }
     }
     
@@ -424,14 +469,12 @@ public class DTOGenerator {
     /**
      * Generates the BasePathURLs class from the YAML specification
      * 
+     * @param openAPI the parsed OpenAPI specification
      * @throws IOException if an error occurs
      */
-    private static void generateBasePathURLsFromYaml() throws IOException {
+    private static void generateBasePathURLsFromYaml(OpenAPI openAPI) throws IOException {
         System.out.println("Generating BasePathURLs constants from YAML specification...");
         
-        // Parse the OpenAPI specification from YAML
-        OpenAPI openAPI = new OpenAPIV3Parser().read(YAML_FILE_PATH);
-        
         // Create the constants output directory if it doesn't exist
         File constantsOutputDir = new File(CONSTANTS_OUTPUT_DIR);
         if (!constantsOutputDir.exists()) {
@@ -493,27 +536,18 @@ public class DTOGenerator {
         String filePath = CONSTANTS_OUTPUT_DIR + "/BasePathURLs.java";
         File file = new File(filePath);
         
-        // Check if the file already exists
-        if (file.exists()) {
-            System.out.println("Updating existing BasePathURLs class");
-        } else {
-            System.out.println("Creating new BasePathURLs class");
-        }
-        
-        FileUtils.writeStringToFile(file, javaCode, "UTF-8");
+        addGeneratedSource(file, CONSTANTS_PACKAGE + ".BasePathURLs", javaCode, "BasePathURLs class");
     }
     
     /**
      * Generates the RelativeURLs class from the YAML specification
      * 
+     * @param openAPI the parsed OpenAPI specification
      * @throws IOException if an error occurs
      */
-    private static void generateRelativeURLsFromYaml() throws IOException {
+    private static void generateRelativeURLsFromYaml(OpenAPI openAPI) throws IOException {
         System.out.println("Generating RelativeURLs constants from YAML specification...");
         
-        // Parse the OpenAPI specification from YAML
-        OpenAPI openAPI = new OpenAPIV3Parser().read(YAML_FILE_PATH);
-        
         // Create the constants output directory if it doesn't exist
         File constantsOutputDir = new File(CONSTANTS_OUTPUT_DIR);
         if (!constantsOutputDir.exists()) {
@@ -566,14 +600,7 @@ public class DTOGenerator {
         String filePath = CONSTANTS_OUTPUT_DIR + "/RelativeURLs.java";
         File file = new File(filePath);
         
-        // Check if the file already exists
-        if (file.exists()) {
-            System.out.println("Updating existing RelativeURLs class");
-        } else {
-            System.out.println("Creating new RelativeURLs class");
-        }
-        
-        FileUtils.writeStringToFile(file, javaCode, "UTF-8");
+        addGeneratedSource(file, CONSTANTS_PACKAGE + ".RelativeURLs", javaCode, "RelativeURLs class");
     }
     
     /**
@@ -648,6 +675,7 @@ public class DTOGenerator {
         operationMap.put("summary", operation.getSummary());
         operationMap.put("path", path);
         operationMap.put("httpMethod", httpMethod);
+        operationMap.put("tag", tag);
         
         // Add the constant name for the path
         operationMap.put("pathConstant", generateConstantName(path));
@@ -697,8 +725,29 @@ public class DTOGenerator {
             // Get the request body schema reference
             RequestBody requestBody = operation.getRequestBody();
             Content content = requestBody.getContent();
-            if (content.get("application/json") != null) {
-                MediaType mediaType = content.get("application/json");
+            
+            // Prefer the JSON variant, otherwise use the first declared variant with a schema
+            MediaType mediaType = content.get("application/json");
+            if (mediaType == null) {
+                mediaType = content.values().stream().filter(media -> media.getSchema() != null).findFirst().orElse(null);
+            }
+            
+            // Collect the variants that can be sent in encoded form (JSON, Smile, CBOR)
+            List<Map<String, String>> encodedContentTypes = new ArrayList<>();
+            for (String contentType : content.keySet()) {
+                if (PayloadCodec.isSupported(contentType)) {
+                    Map<String, String> contentTypeMap = new HashMap<>();
+                    contentTypeMap.put("contentType", contentType);
+                    encodedContentTypes.add(contentTypeMap);
+                }
+            }
+            operationMap.put("encodedContentTypes", encodedContentTypes);
+            // Quoted argument list, so the bulk helper can reject content types the operation does not declare
+            operationMap.put("encodedContentTypeArgs", encodedContentTypes.stream()
+                    .map(contentTypeMap -> "\"" + contentTypeMap.get("contentType") + "\"")
+                    .collect(Collectors.joining(", ")));
+            
+            if (mediaType != null && mediaType.getSchema() != null) {
                 Schema schema = mediaType.getSchema();
                 
                 // Check if the schema is an array
@@ -717,6 +766,11 @@ public class DTOGenerator {
                     operationMap.put("isArrayRequestBody", false);
                 }
             }
+            boolean hasEncodedBody = operationMap.containsKey("requestBodyType") && !encodedContentTypes.isEmpty();
+            operationMap.put("hasEncodedBody", hasEncodedBody);
+            
+            // Array bodies get a chunked bulk helper built on the encoded method
+            operationMap.put("hasBulkHelper", hasEncodedBody && Boolean.TRUE.equals(operationMap.get("isArrayRequestBody")));
         }
         
         // Add the operation to the appropriate service
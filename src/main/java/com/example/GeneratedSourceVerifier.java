@@ -0,0 +1,214 @@
+package com.example;
+
+import com.sun.source.util.JavacTask;
+
+import javax.tools.*;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Compiles generated sources in memory to catch invalid code before it is written to src/main/java.
+ * Sources are split into parallel compilation tasks; every task can still see all other generated
+ * sources through an in-memory source path, so cross references between DTOs, services and
+ * constants resolve without compiling everything in every task. Class files of generated classes are
+ * hidden from the class path, so stale output of an earlier run cannot satisfy a reference.
+ */
+public class GeneratedSourceVerifier {
+
+    private static final int MIN_SOURCES_PER_TASK = 8;
+    private static final String CLASS_OUTPUT_DIR = "target/classes";
+
+    private final Map<String, InMemorySource> sources = new LinkedHashMap<>();
+    private final Predicate<String> generatedClasses;
+    private final String classPath;
+
+    /**
+     * Creates a verifier that compiles against the runtime class path and target/classes
+     *
+     * @param generatedClasses matches the binary names of classes the generator owns
+     */
+    public GeneratedSourceVerifier(Predicate<String> generatedClasses) {
+        this(generatedClasses, System.getProperty("java.class.path") + File.pathSeparator + CLASS_OUTPUT_DIR);
+    }
+
+    GeneratedSourceVerifier(Predicate<String> generatedClasses, String classPath) {
+        this.generatedClasses = generatedClasses;
+        this.classPath = classPath;
+    }
+
+    /**
+     * Adds a generated source to verify
+     *
+     * @param className the fully qualified class name
+     * @param javaCode the generated Java code
+     */
+    public void add(String className, String javaCode) {
+        sources.put(className, new InMemorySource(className, javaCode));
+    }
+
+    /**
+     * Type-checks all added sources and fails with the compiler diagnostics if any source has errors
+     *
+     * @throws IllegalStateException if the generated sources do not compile
+     */
+    public void verify() {
+        if (sources.isEmpty()) {
+            return;
+        }
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            throw new IllegalStateException("No system Java compiler available; run the generator on a JDK to verify generated sources");
+        }
+
+        System.out.println("Verifying " + sources.size() + " generated sources...");
+        long start = System.currentTimeMillis();
+
+        List<List<InMemorySource>> units = split(new ArrayList<>(sources.values()));
+        ExecutorService executor = Executors.newFixedThreadPool(units.size());
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        try {
+            List<CompletableFuture<List<Diagnostic<? extends JavaFileObject>>>> futures = new ArrayList<>();
+            for (List<InMemorySource> unit : units) {
+                futures.add(CompletableFuture.supplyAsync(() -> compile(compiler, unit), executor));
+            }
+            for (CompletableFuture<List<Diagnostic<? extends JavaFileObject>>> future : futures) {
+                errors.addAll(future.join());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        if (!errors.isEmpty()) {
+            Set<String> reported = new LinkedHashSet<>();
+            for (Diagnostic<? extends JavaFileObject> error : errors) {
+                String source = error.getSource() != null ? error.getSource().getName() : "<unknown>";
+                reported.add(source + ":" + error.getLineNumber() + ":" + error.getColumnNumber() + ": " + error.getMessage(Locale.ROOT));
+            }
+            reported.forEach(System.err::println);
+            throw new IllegalStateException("Generated sources do not compile: " + reported.size() + " error(s)");
+        }
+        System.out.println("Generated sources verified in " + (System.currentTimeMillis() - start) + " ms using " + units.size() + " compilation tasks");
+    }
+
+    /**
+     * Runs attribution and flow analysis for one unit without generating class files
+     */
+    private List<Diagnostic<? extends JavaFileObject>> compile(JavaCompiler compiler, List<InMemorySource> unit) {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (InMemoryFileManager fileManager = new InMemoryFileManager(compiler.getStandardFileManager(diagnostics, Locale.ROOT, null))) {
+            List<String> options = Arrays.asList("-proc:none", "-implicit:none", "-Xprefer:source", "-Xlint:none",
+                    "-classpath", classPath);
+            JavacTask task = (JavacTask) compiler.getTask(null, fileManager, diagnostics, options, null, unit);
+            task.analyze();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to verify generated sources: " + e.getMessage(), e);
+        }
+
+        List<Diagnostic<? extends JavaFileObject>> errors = new ArrayList<>();
+        for (Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            if (diagnostic.getKind() == Diagnostic.Kind.ERROR) {
+                errors.add(diagnostic);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Splits the sources into one contiguous unit per available processor
+     */
+    private List<List<InMemorySource>> split(List<InMemorySource> all) {
+        int taskCount = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), all.size() / MIN_SOURCES_PER_TASK));
+        int unitSize = (all.size() + taskCount - 1) / taskCount;
+        List<List<InMemorySource>> units = new ArrayList<>();
+        for (int i = 0; i < all.size(); i += unitSize) {
+            units.add(all.subList(i, Math.min(all.size(), i + unitSize)));
+        }
+        return units;
+    }
+
+    /**
+     * A generated source held in memory
+     */
+    private static class InMemorySource extends SimpleJavaFileObject {
+
+        private final String className;
+        private final String javaCode;
+
+        InMemorySource(String className, String javaCode) {
+            super(URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.className = className;
+            this.javaCode = javaCode;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return javaCode;
+        }
+
+        String getPackageName() {
+            int lastDot = className.lastIndexOf('.');
+            return lastDot == -1 ? "" : className.substring(0, lastDot);
+        }
+    }
+
+    /**
+     * Serves all generated sources from memory as the source path and hides generated class files
+     * from the class path, delegating everything else
+     */
+    private class InMemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        InMemoryFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public boolean hasLocation(Location location) {
+            return location == StandardLocation.SOURCE_PATH || super.hasLocation(location);
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<JavaFileObject.Kind> kinds, boolean recurse) throws IOException {
+            if (location == StandardLocation.CLASS_PATH) {
+                List<JavaFileObject> classes = new ArrayList<>();
+                for (JavaFileObject file : super.list(location, packageName, kinds, recurse)) {
+                    if (file.getKind() != JavaFileObject.Kind.CLASS || !generatedClasses.test(getTopLevelName(inferBinaryName(location, file)))) {
+                        classes.add(file);
+                    }
+                }
+                return classes;
+            }
+            if (location != StandardLocation.SOURCE_PATH) {
+                return super.list(location, packageName, kinds, recurse);
+            }
+            List<JavaFileObject> matches = new ArrayList<>();
+            if (kinds.contains(JavaFileObject.Kind.SOURCE)) {
+                for (InMemorySource source : sources.values()) {
+                    String sourcePackage = source.getPackageName();
+                    if (sourcePackage.equals(packageName) || (recurse && sourcePackage.startsWith(packageName + "."))) {
+                        matches.add(source);
+                    }
+                }
+            }
+            return matches;
+        }
+
+        private String getTopLevelName(String binaryName) {
+            int nested = binaryName.indexOf('$');
+            return nested == -1 ? binaryName : binaryName.substring(0, nested);
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (file instanceof InMemorySource) {
+                return ((InMemorySource) file).className;
+            }
+            return super.inferBinaryName(location, file);
+        }
+    }
+}
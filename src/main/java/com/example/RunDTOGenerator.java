@@ -12,6 +12,8 @@ public class RunDTOGenerator {
         } catch (Exception e) {
             System.err.println("Error running DTOGenerator: " + e.getMessage());
             e.printStackTrace();
+            // Exit non-zero so builds and scripts see the failed run
+            System.exit(1);
         }
     }
 }
\ No newline at end of file
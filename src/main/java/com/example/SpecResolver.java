@@ -0,0 +1,447 @@
+package com.example;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.oas.models.Components;
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.PathItem;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import io.swagger.v3.oas.models.responses.ApiResponse;
+import io.swagger.v3.oas.models.servers.Server;
+import io.swagger.v3.parser.OpenAPIV3Parser;
+import io.swagger.v3.parser.core.models.ParseOptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loads one or more YAML specifications and resolves local and relative external $refs.
+ * Referenced files are parsed in parallel and only once, even when many specs share them.
+ * Parameter, request body and response refs are inlined into the operations, and every schema
+ * ref is rewritten to a local "#/components/schemas/" ref so it is generated as a typed DTO.
+ * Schemas of the same name from different files get distinct type names.
+ */
+public class SpecResolver {
+
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+    private static final String SCHEMA_POINTER_PREFIX = "/components/schemas/";
+    private static final int MAX_REF_DEPTH = 32;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    private final Map<Path, CompletableFuture<JsonNode>> fileCache = new ConcurrentHashMap<>();
+    private final Map<String, Schema> resolvedSchemas = new LinkedHashMap<>();
+    private final Map<String, String> typeNames = new HashMap<>();
+    private final Set<String> resolvedRefKeys = new HashSet<>();
+    private final Set<String> usedTypeNames = new HashSet<>();
+    private final Map<String, String> aliasTargets = new HashMap<>();
+
+    /**
+     * Loads the specifications and merges them into a single OpenAPI model
+     *
+     * @param specPaths the YAML specification files
+     * @return the merged OpenAPI model with refs resolved
+     * @throws IOException if a specification or referenced file cannot be read
+     */
+    public OpenAPI load(List<String> specPaths) throws IOException {
+        try {
+            ParseOptions options = new ParseOptions();
+            options.setResolve(false);
+
+            // Parse the specifications in parallel
+            List<CompletableFuture<OpenAPI>> specFutures = new ArrayList<>();
+            for (String specPath : specPaths) {
+                specFutures.add(CompletableFuture.supplyAsync(() -> {
+                    OpenAPI openAPI = new OpenAPIV3Parser().read(specPath, null, options);
+                    if (openAPI == null) {
+                        throw new UncheckedIOException(new IOException("Unable to parse specification: " + specPath));
+                    }
+                    return openAPI;
+                }, executor));
+            }
+
+            List<OpenAPI> specs = new ArrayList<>();
+            List<Path> specFiles = new ArrayList<>();
+            for (int i = 0; i < specPaths.size(); i++) {
+                specs.add(specFutures.get(i).join());
+                specFiles.add(Paths.get(specPaths.get(i)).toAbsolutePath().normalize());
+            }
+
+            nameComponents(specs, specFiles);
+
+            Map<Schema, Path> pending = new IdentityHashMap<>();
+            for (int i = 0; i < specs.size(); i++) {
+                OpenAPI openAPI = specs.get(i);
+                if (openAPI.getComponents() != null && openAPI.getComponents().getSchemas() != null) {
+                    for (Schema schema : openAPI.getComponents().getSchemas().values()) {
+                        collectRefs(schema, specFiles.get(i), pending);
+                    }
+                }
+                if (openAPI.getPaths() != null) {
+                    for (PathItem pathItem : openAPI.getPaths().values()) {
+                        resolveOperationRefs(pathItem, specFiles.get(i), pending);
+                    }
+                }
+            }
+
+            resolveAll(pending);
+            return merge(specs);
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Assigns type names to the schema components of every root spec, in argument order.
+     * A name already taken by an earlier spec is prefixed with the spec's file name. A component that
+     * only refs another schema takes that schema under its own name, or shares the name it already has.
+     */
+    private void nameComponents(List<OpenAPI> specs, List<Path> specFiles) {
+        Map<String, String> aliases = new LinkedHashMap<>();
+        for (int i = 0; i < specs.size(); i++) {
+            Components components = specs.get(i).getComponents();
+            if (components == null || components.getSchemas() == null) {
+                continue;
+            }
+            Path specFile = specFiles.get(i);
+            for (Map.Entry<String, Schema> component : components.getSchemas().entrySet()) {
+                String refKey = specFile + "#" + SCHEMA_POINTER_PREFIX + component.getKey();
+                String ref = component.getValue().get$ref();
+                if (ref != null) {
+                    aliases.put(refKey, toRefKey(ref, specFile));
+                } else {
+                    String typeName = getUniqueTypeName(component.getKey(), specFile, refKey);
+                    typeNames.put(refKey, typeName);
+                    resolvedRefKeys.add(refKey);
+                    resolvedSchemas.put(typeName, component.getValue());
+                }
+            }
+        }
+
+        for (Map.Entry<String, String> alias : aliases.entrySet()) {
+            String target = alias.getValue();
+            for (int depth = 0; aliases.containsKey(target); depth++) {
+                if (depth > MAX_REF_DEPTH) {
+                    throw new IllegalArgumentException("Circular $ref: " + alias.getKey());
+                }
+                target = aliases.get(target);
+            }
+            String typeName = typeNames.get(target);
+            if (typeName == null) {
+                String aliasKey = alias.getKey();
+                String componentName = aliasKey.substring(aliasKey.lastIndexOf('/') + 1);
+                typeName = getUniqueTypeName(componentName, Paths.get(aliasKey.substring(0, aliasKey.indexOf('#'))), aliasKey);
+                typeNames.put(target, typeName);
+            }
+            typeNames.put(alias.getKey(), typeName);
+            aliasTargets.put(alias.getKey(), target);
+        }
+    }
+
+    /**
+     * Inlines the parameter, request body and response refs of a path and its operations,
+     * and collects the schema refs found in them
+     */
+    private void resolveOperationRefs(PathItem pathItem, Path file, Map<Schema, Path> pending) {
+        resolveParameters(pathItem.getParameters(), file, pending);
+        for (Operation operation : pathItem.readOperations()) {
+            resolveParameters(operation.getParameters(), file, pending);
+
+            RequestBody requestBody = operation.getRequestBody();
+            if (requestBody != null) {
+                if (requestBody.get$ref() != null) {
+                    requestBody = resolveComponent(requestBody.get$ref(), file, RequestBody.class, pending);
+                    operation.setRequestBody(requestBody);
+                } else {
+                    collectContentRefs(requestBody.getContent(), file, pending);
+                }
+            }
+
+            if (operation.getResponses() != null) {
+                for (Map.Entry<String, ApiResponse> response : operation.getResponses().entrySet()) {
+                    if (response.getValue().get$ref() != null) {
+                        response.setValue(resolveComponent(response.getValue().get$ref(), file, ApiResponse.class, pending));
+                    } else {
+                        collectContentRefs(response.getValue().getContent(), file, pending);
+                    }
+                }
+            }
+        }
+    }
+
+    private void resolveParameters(List<Parameter> parameters, Path file, Map<Schema, Path> pending) {
+        if (parameters == null) {
+            return;
+        }
+        for (ListIterator<Parameter> iterator = parameters.listIterator(); iterator.hasNext(); ) {
+            Parameter parameter = iterator.next();
+            if (parameter.get$ref() != null) {
+                iterator.set(resolveComponent(parameter.get$ref(), file, Parameter.class, pending));
+            } else {
+                collectRefs(parameter.getSchema(), file, pending);
+                collectContentRefs(parameter.getContent(), file, pending);
+            }
+        }
+    }
+
+    /**
+     * Reads the parameter, request body or response a ref points to, following chained refs,
+     * and collects the schema refs inside it relative to the file it was read from
+     *
+     * @param ref the $ref value
+     * @param file the file holding the ref
+     * @param type Parameter, RequestBody or ApiResponse
+     * @param pending collects the schema refs to resolve
+     * @return the referenced component
+     */
+    private <T> T resolveComponent(String ref, Path file, Class<T> type, Map<Schema, Path> pending) {
+        String refKey = toRefKey(ref, file);
+        for (int depth = 0; ; depth++) {
+            if (depth > MAX_REF_DEPTH) {
+                throw new IllegalArgumentException("Circular $ref: " + ref);
+            }
+            int hash = refKey.indexOf('#');
+            file = Paths.get(refKey.substring(0, hash));
+            JsonNode node = loadFile(file).join().at(refKey.substring(hash + 1));
+            if (node.isMissingNode()) {
+                throw new IllegalArgumentException("Unresolved $ref: " + refKey);
+            }
+            if (!node.path("$ref").isTextual()) {
+                T component = Yaml.mapper().convertValue(node, type);
+                if (component instanceof Parameter parameter) {
+                    collectRefs(parameter.getSchema(), file, pending);
+                    collectContentRefs(parameter.getContent(), file, pending);
+                } else if (component instanceof RequestBody requestBody) {
+                    collectContentRefs(requestBody.getContent(), file, pending);
+                } else if (component instanceof ApiResponse response) {
+                    collectContentRefs(response.getContent(), file, pending);
+                }
+                return component;
+            }
+            refKey = toRefKey(node.get("$ref").asText(), file);
+        }
+    }
+
+    /**
+     * Resolves schema refs wave by wave: each wave loads all newly referenced files in
+     * parallel, then scans the resolved schemas for further refs
+     *
+     * @param pending schemas holding a ref, mapped to the file that contains them
+     */
+    private void resolveAll(Map<Schema, Path> pending) {
+        while (!pending.isEmpty()) {
+            // Start loading every referenced file before waiting on any of them
+            Map<Schema, String> refKeys = new IdentityHashMap<>();
+            for (Map.Entry<Schema, Path> entry : pending.entrySet()) {
+                String refKey = toRefKey(entry.getKey().get$ref(), entry.getValue());
+                refKeys.put(entry.getKey(), refKey);
+                loadFile(Paths.get(refKey.substring(0, refKey.indexOf('#'))));
+            }
+
+            Map<Schema, Path> next = new IdentityHashMap<>();
+            for (Map.Entry<Schema, String> entry : refKeys.entrySet()) {
+                String typeName = resolveRef(entry.getValue(), next);
+                entry.getKey().set$ref(SCHEMA_REF_PREFIX + typeName);
+            }
+            pending = next;
+        }
+    }
+
+    /**
+     * Resolves a single ref key to a schema, registering it under its type name on first use.
+     * Root spec components and the schemas they alias already have their names; other schemas
+     * get a name that does not clash with any component or previously resolved schema.
+     *
+     * @param refKey the absolute file path and JSON pointer, separated by '#'
+     * @param next collects refs found inside a newly resolved schema
+     * @return the type name of the resolved schema
+     */
+    private String resolveRef(String refKey, Map<Schema, Path> next) {
+        refKey = aliasTargets.getOrDefault(refKey, refKey);
+        String typeName = typeNames.get(refKey);
+        if (typeName != null && resolvedRefKeys.contains(refKey)) {
+            return typeName;
+        }
+
+        int hash = refKey.indexOf('#');
+        Path file = Paths.get(refKey.substring(0, hash));
+        String pointer = refKey.substring(hash + 1);
+        JsonNode node = loadFile(file).join().at(pointer);
+        if (node.isMissingNode()) {
+            throw new IllegalArgumentException("Unresolved $ref: " + refKey);
+        }
+
+        if (typeName == null) {
+            typeName = getUniqueTypeName(getTypeName(file, pointer), file, refKey);
+            typeNames.put(refKey, typeName);
+        }
+        resolvedRefKeys.add(refKey);
+
+        Schema schema = Yaml.mapper().convertValue(node, Schema.class);
+        resolvedSchemas.put(typeName, schema);
+        System.out.println("Resolved external schema " + typeName + " from " + file.getFileName());
+
+        // Local refs inside the referenced file point into that file
+        collectRefs(schema, file, next);
+        return typeName;
+    }
+
+    /**
+     * Parses a referenced file once, sharing the result between all refs to it
+     */
+    private CompletableFuture<JsonNode> loadFile(Path file) {
+        return fileCache.computeIfAbsent(file, path -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return Yaml.mapper().readTree(path.toFile());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read referenced file: " + path, e);
+            }
+        }, executor));
+    }
+
+    private void collectContentRefs(Content content, Path file, Map<Schema, Path> refs) {
+        if (content != null) {
+            for (MediaType mediaType : content.values()) {
+                collectRefs(mediaType.getSchema(), file, refs);
+            }
+        }
+    }
+
+    /**
+     * Walks a schema tree and records every schema whose $ref must be resolved
+     *
+     * @param schema the schema to walk
+     * @param file the file the schema was read from
+     * @param refs collects the schemas with refs to resolve
+     */
+    private void collectRefs(Schema schema, Path file, Map<Schema, Path> refs) {
+        if (schema == null) {
+            return;
+        }
+        if (schema.get$ref() != null) {
+            refs.put(schema, file);
+            return;
+        }
+        if (schema.getProperties() != null) {
+            for (Object property : schema.getProperties().values()) {
+                collectRefs((Schema) property, file, refs);
+            }
+        }
+        collectRefs(schema.getItems(), file, refs);
+        if (schema.getAdditionalProperties() instanceof Schema) {
+            collectRefs((Schema) schema.getAdditionalProperties(), file, refs);
+        }
+        for (List<Schema> composed : Arrays.asList(schema.getAllOf(), schema.getOneOf(), schema.getAnyOf())) {
+            if (composed != null) {
+                for (Schema part : composed) {
+                    collectRefs(part, file, refs);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds a canonical key for a ref: the absolute referenced file and the JSON pointer
+     */
+    private String toRefKey(String ref, Path file) {
+        int hash = ref.indexOf('#');
+        String filePart = hash == -1 ? ref : ref.substring(0, hash);
+        String pointer = hash == -1 ? "" : ref.substring(hash + 1);
+        Path target = filePart.isEmpty() ? file : file.getParent().resolve(filePart).normalize();
+        return target + "#" + pointer;
+    }
+
+    /**
+     * Gets the type name for a ref: the last pointer segment, or the file name for whole-file refs
+     */
+    private String getTypeName(Path file, String pointer) {
+        if (!pointer.isEmpty() && !"/".equals(pointer)) {
+            return pointer.substring(pointer.lastIndexOf('/') + 1);
+        }
+        return getFileTypeName(file);
+    }
+
+    /**
+     * Gets the file name without extension as a type name, e.g. "Common" for common.yaml
+     * and "PetStore" for pet-store.yaml
+     */
+    private String getFileTypeName(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        StringBuilder typeName = new StringBuilder();
+        for (String part : (dot == -1 ? fileName : fileName.substring(0, dot)).split("[^A-Za-z0-9]+")) {
+            if (!part.isEmpty()) {
+                typeName.append(Character.toUpperCase(part.charAt(0))).append(part.substring(1));
+            }
+        }
+        return typeName.toString();
+    }
+
+    /**
+     * Gets an unused type name, prefixing the file name and then numbering it when the plain
+     * name is taken, so schemas of the same name in different files stay distinct
+     */
+    private String getUniqueTypeName(String typeName, Path file, String refKey) {
+        if (usedTypeNames.add(typeName)) {
+            return typeName;
+        }
+
+        String prefix = getFileTypeName(file);
+        String candidate = prefix.equals(typeName) ? typeName : prefix + typeName;
+        for (int i = 2; !usedTypeNames.add(candidate); i++) {
+            candidate = typeName + i;
+        }
+        System.err.println("Warning: type name " + typeName + " is already defined, using " + candidate + " for " + refKey);
+        return candidate;
+    }
+
+    /**
+     * Merges paths and servers of all specifications into the first one, and replaces its schemas
+     * with the named schemas of all specifications and referenced files
+     */
+    private OpenAPI merge(List<OpenAPI> specs) {
+        OpenAPI merged = specs.get(0);
+        if (merged.getComponents() == null) {
+            merged.setComponents(new Components());
+        }
+        if (merged.getPaths() == null) {
+            merged.setPaths(new io.swagger.v3.oas.models.Paths());
+        }
+        if (merged.getServers() == null) {
+            merged.setServers(new ArrayList<>());
+        }
+
+        for (OpenAPI spec : specs.subList(1, specs.size())) {
+            if (spec.getPaths() != null) {
+                spec.getPaths().forEach(merged.getPaths()::putIfAbsent);
+            }
+            if (spec.getServers() != null) {
+                for (Server server : spec.getServers()) {
+                    if (merged.getServers().stream().noneMatch(existing -> existing.getUrl().equals(server.getUrl()))) {
+                        merged.getServers().add(server);
+                    }
+                }
+            }
+        }
+        // Alias components are left out, their refs now point at the schema they aliased
+        merged.getComponents().setSchemas(new LinkedHashMap<>(resolvedSchemas));
+        return merged;
+    }
+}
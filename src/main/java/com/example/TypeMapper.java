@@ -0,0 +1,206 @@
+package com.example;
+
+import io.swagger.v3.oas.models.media.Schema;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps OpenAPI schemas to Java types for the generated DTOs.
+ * The type table is pluggable through {@link #register}, a type mappings file, or by setting a
+ * custom mapper with {@link DTOGenerator#setTypeMapper}. Nested arrays and additionalProperties
+ * maps are mapped recursively, and results are memoized per schema.
+ */
+public class TypeMapper {
+
+    /**
+     * System property that maps all numeric arrays to primitive arrays (long[], int[], double[], float[])
+     */
+    public static final String PRIMITIVE_ARRAYS_PROPERTY = "primitiveNumericArrays";
+
+    /**
+     * Vendor extension that maps a single numeric array property to a primitive array
+     */
+    public static final String PRIMITIVE_ARRAY_EXTENSION = "x-java-primitive-array";
+
+    /**
+     * System property naming a properties file of extra type mappings, one
+     * "type[.format] = JavaType[,primitiveType]" entry per line, e.g. "string.uuid = java.util.UUID"
+     */
+    public static final String TYPE_MAPPINGS_PROPERTY = "typeMappings";
+
+    private final Map<String, String> javaTypes = new ConcurrentHashMap<>();
+    private final Map<String, String> primitiveTypes = new ConcurrentHashMap<>();
+    private final Map<String, String> typeImports = new ConcurrentHashMap<>();
+    private final Map<Schema, MappedType> cache = Collections.synchronizedMap(new IdentityHashMap<>());
+    private final boolean primitiveArrays;
+
+    public TypeMapper(boolean primitiveArrays) {
+        this.primitiveArrays = primitiveArrays;
+
+        register("integer", "int64", "Long", "long", null);
+        register("integer", null, "Integer", "int", null);
+        register("number", "float", "Float", "float", null);
+        register("number", null, "Double", "double", null);
+        register("boolean", null, "Boolean", null, null);
+        register("string", "date", "LocalDate", null, "java.time.LocalDate");
+        register("string", "date-time", "LocalDateTime", null, "java.time.LocalDateTime");
+        register("string", null, "String", null, null);
+    }
+
+    /**
+     * Creates a mapper configured from the primitive arrays and type mappings system properties
+     *
+     * @return the configured type mapper
+     * @throws IOException if the type mappings file cannot be read
+     */
+    public static TypeMapper fromSystemProperties() throws IOException {
+        TypeMapper typeMapper = new TypeMapper(Boolean.getBoolean(PRIMITIVE_ARRAYS_PROPERTY));
+        String mappingsPath = System.getProperty(TYPE_MAPPINGS_PROPERTY);
+        if (mappingsPath != null) {
+            Properties mappings = new Properties();
+            try (InputStream in = new FileInputStream(new File(mappingsPath))) {
+                mappings.load(in);
+            }
+            typeMapper.registerAll(mappings);
+        }
+        return typeMapper;
+    }
+
+    /**
+     * Registers type mappings given as "type[.format] = JavaType[,primitiveType]" entries.
+     * A fully qualified Java type outside java.lang is imported where it is used.
+     *
+     * @param mappings the type mappings
+     */
+    public void registerAll(Properties mappings) {
+        for (String key : mappings.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            String type = (dot == -1 ? key : key.substring(0, dot)).trim();
+            String format = dot == -1 ? null : key.substring(dot + 1).trim();
+            String[] value = mappings.getProperty(key).split(",");
+            String qualifiedType = value[0].trim();
+            String javaType = qualifiedType.substring(qualifiedType.lastIndexOf('.') + 1);
+            String importName = qualifiedType.contains(".") && !qualifiedType.startsWith("java.lang.") ? qualifiedType : null;
+            String primitiveType = value.length > 1 ? value[1].trim() : null;
+            register(type, format == null || format.isEmpty() ? null : format, javaType, primitiveType, importName);
+        }
+    }
+
+    /**
+     * Registers or overrides the Java type for an OpenAPI type and format
+     *
+     * @param type the OpenAPI type (e.g., "integer")
+     * @param format the OpenAPI format (e.g., "int64"), or null to match any format
+     * @param javaType the Java type (e.g., "Long")
+     * @param primitiveType the primitive element type used for primitive arrays, or null if none
+     * @param importName the import needed for the Java type, or null if none
+     */
+    public void register(String type, String format, String javaType, String primitiveType, String importName) {
+        String key = getKey(type, format);
+        javaTypes.put(key, javaType);
+        if (primitiveType != null) {
+            primitiveTypes.put(key, primitiveType);
+        }
+        if (importName != null) {
+            typeImports.put(key, importName);
+        }
+        cache.clear();
+    }
+
+    /**
+     * Gets the Java type for a schema and adds the imports it needs
+     *
+     * @param schema the property schema
+     * @param imports the imports of the class being generated
+     * @return the Java type
+     */
+    public String getType(Schema schema, Set<String> imports) {
+        MappedType mappedType = getMappedType(schema);
+        imports.addAll(mappedType.imports());
+        return mappedType.javaType();
+    }
+
+    private MappedType getMappedType(Schema schema) {
+        if (schema == null) {
+            return new MappedType("Object", Collections.emptySet());
+        }
+        MappedType mappedType = cache.get(schema);
+        if (mappedType == null) {
+            Set<String> imports = new TreeSet<>();
+            String javaType = map(schema, imports);
+            mappedType = new MappedType(javaType, Collections.unmodifiableSet(imports));
+            cache.put(schema, mappedType);
+        }
+        return mappedType;
+    }
+
+    private String map(Schema schema, Set<String> imports) {
+        String type = schema.getType();
+
+        if (schema.get$ref() != null) {
+            // Handle references to other schemas
+            return DTOGenerator.getRefType(schema.get$ref());
+        }
+
+        if ("array".equals(type)) {
+            Schema itemsSchema = schema.getItems();
+            if (itemsSchema == null) {
+                imports.add("java.util.List");
+                return "List<Object>";
+            }
+
+            // Numeric arrays can be mapped to primitive arrays, which Jackson reads and writes without boxing
+            String primitiveType = itemsSchema.get$ref() == null ? lookup(primitiveTypes, itemsSchema) : null;
+            if (primitiveType != null && (primitiveArrays || Boolean.TRUE.equals(getExtension(schema, PRIMITIVE_ARRAY_EXTENSION)))) {
+                return primitiveType + "[]";
+            }
+
+            imports.add("java.util.List");
+            return "List<" + getType(itemsSchema, imports) + ">";
+        }
+
+        Object additionalProperties = schema.getAdditionalProperties();
+        if (additionalProperties instanceof Schema) {
+            imports.add("java.util.Map");
+            return "Map<String, " + getType((Schema) additionalProperties, imports) + ">";
+        }
+        if (Boolean.TRUE.equals(additionalProperties) || ("object".equals(type) && schema.getProperties() == null)) {
+            imports.add("java.util.Map");
+            return "Map<String, Object>";
+        }
+
+        String javaType = lookup(javaTypes, schema);
+        if (javaType == null) {
+            return "String";
+        }
+        String importName = typeImports.get(getKey(type, schema.getFormat()));
+        if (importName == null) {
+            importName = typeImports.get(getKey(type, null));
+        }
+        if (importName != null) {
+            imports.add(importName);
+        }
+        return javaType;
+    }
+
+    private String lookup(Map<String, String> table, Schema schema) {
+        String value = table.get(getKey(schema.getType(), schema.getFormat()));
+        return value != null ? value : table.get(getKey(schema.getType(), null));
+    }
+
+    private Object getExtension(Schema schema, String name) {
+        return schema.getExtensions() != null ? schema.getExtensions().get(name) : null;
+    }
+
+    private String getKey(String type, String format) {
+        return type + ":" + (format != null ? format : "");
+    }
+
+    private record MappedType(String javaType, Set<String> imports) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.bulk;
+
+import io.restassured.response.Response;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a list into chunks and sends them concurrently with a bounded number of requests in flight,
+ * retrying transient failures (I/O errors, 429 and 5xx by default) with exponential backoff
+ */
+public class BulkExecutor {
+
+    /**
+     * Sends one chunk and returns its response
+     */
+    @FunctionalInterface
+    public interface ChunkSender<T> {
+        Response send(List<T> chunk) throws Exception;
+    }
+
+    private BulkExecutor() {
+    }
+
+    /**
+     * Sends all items in chunks
+     *
+     * @param items the items to send; the list must not change while the bulk request runs
+     * @param options the chunking, concurrency and retry options
+     * @param sender sends a single chunk
+     * @return the per-chunk results, in input order
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public static <T> BulkResult execute(List<T> items, BulkOptions options, ChunkSender<T> sender) throws InterruptedException {
+        int chunkSize = options.getChunkSize();
+        int chunkCount = (items.size() + chunkSize - 1) / chunkSize;
+        if (chunkCount == 0) {
+            return new BulkResult(new ArrayList<>());
+        }
+
+        // The pool size bounds the number of requests in flight
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(options.getMaxInFlight(), chunkCount));
+        try {
+            List<Future<BulkResult.ChunkResult>> futures = new ArrayList<>();
+            for (int index = 0; index < chunkCount; index++) {
+                int chunkIndex = index;
+                int fromIndex = index * chunkSize;
+                List<T> chunk = items.subList(fromIndex, Math.min(items.size(), fromIndex + chunkSize));
+                futures.add(executor.submit(() -> sendChunk(chunkIndex, fromIndex, chunk, options, sender)));
+            }
+
+            List<BulkResult.ChunkResult> results = new ArrayList<>();
+            for (Future<BulkResult.ChunkResult> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Bulk chunk failed unexpectedly: " + e.getCause().getMessage(), e.getCause());
+                }
+            }
+            return new BulkResult(results);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static <T> BulkResult.ChunkResult sendChunk(int index, int fromIndex, List<T> chunk, BulkOptions options,
+                                                        ChunkSender<T> sender) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        int attempts = 0;
+        int statusCode = 0;
+        String error;
+        boolean retryable;
+        while (true) {
+            attempts++;
+            try {
+                Response response = sender.send(chunk);
+                statusCode = response.getStatusCode();
+                if (statusCode >= 200 && statusCode < 300) {
+                    return new BulkResult.ChunkResult(index, fromIndex, chunk.size(), attempts, statusCode, null,
+                            System.currentTimeMillis() - start);
+                }
+                error = "HTTP " + statusCode;
+                retryable = options.isRetryable(statusCode);
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                statusCode = 0;
+                error = e.getClass().getSimpleName() + ": " + e.getMessage();
+                retryable = options.isRetryable(e);
+            }
+
+            if (!retryable || attempts > options.getMaxRetries()) {
+                System.err.println("Bulk chunk " + index + " failed after " + attempts + " attempts: " + error);
+                return new BulkResult.ChunkResult(index, fromIndex, chunk.size(), attempts, statusCode, error,
+                        System.currentTimeMillis() - start);
+            }
+            Thread.sleep(options.getRetryBackoffMillis() << Math.min(attempts - 1, 16));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.bulk;
+
+import com.example.encoding.PayloadCodec;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Options for chunked bulk requests generated for array-body operations
+ */
+public class BulkOptions {
+
+    private int chunkSize = 500;
+    private int maxInFlight = 4;
+    private int maxRetries = 2;
+    private long retryBackoffMillis = 500;
+    private String contentType = PayloadCodec.JSON;
+    private boolean gzip;
+    private Set<Integer> retryableStatusCodes;
+
+    /**
+     * Sets the number of items sent per request
+     */
+    public BulkOptions chunkSize(int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be at least 1");
+        }
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of chunk requests in flight at the same time
+     */
+    public BulkOptions maxInFlight(int maxInFlight) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Sets how often a failed chunk is retried
+     */
+    public BulkOptions maxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+        return this;
+    }
+
+    /**
+     * Sets the delay before the first retry; it doubles with every further retry
+     */
+    public BulkOptions retryBackoffMillis(long retryBackoffMillis) {
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        return this;
+    }
+
+    /**
+     * Sets the HTTP status codes that are retried, replacing the default of 429 and every 5xx.
+     * Chunks failing with an I/O or connection error are always retried.
+     */
+    public BulkOptions retryableStatusCodes(int... statusCodes) {
+        Set<Integer> codes = new HashSet<>();
+        for (int statusCode : statusCodes) {
+            codes.add(statusCode);
+        }
+        this.retryableStatusCodes = codes;
+        return this;
+    }
+
+    /**
+     * Sets the content type chunks are encoded as
+     */
+    public BulkOptions contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    /**
+     * Sets whether chunks are gzip-compressed
+     */
+    public BulkOptions gzip(boolean gzip) {
+        this.gzip = gzip;
+        return this;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    /**
+     * Checks whether a chunk rejected with the given status is worth sending again.
+     * Client errors such as 400, 409 or 422 fail the same way on every attempt.
+     *
+     * @param statusCode the HTTP status code of the failed chunk
+     * @return true if the chunk should be retried
+     */
+    public boolean isRetryable(int statusCode) {
+        if (retryableStatusCodes != null) {
+            return retryableStatusCodes.contains(statusCode);
+        }
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /**
+     * Checks whether a chunk that failed with an exception is worth sending again.
+     * Only I/O and connection failures are transient; serialization errors and invalid
+     * arguments fail the same way on every attempt.
+     *
+     * @param failure the exception thrown while sending the chunk
+     * @return true if the chunk should be retried
+     */
+    public boolean isRetryable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof JsonProcessingException) {
+                return false;
+            }
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks that the content type is one the operation can send
+     *
+     * @param declaredContentTypes the encodable request body media types the operation declares
+     * @throws IllegalArgumentException if the content type is not declared
+     */
+    public void requireDeclaredContentType(String... declaredContentTypes) {
+        String mediaType = getMediaType(contentType);
+        for (String declaredContentType : declaredContentTypes) {
+            if (getMediaType(declaredContentType).equals(mediaType)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Content type " + contentType + " is not declared by the operation; expected one of "
+                + String.join(", ", declaredContentTypes));
+    }
+
+    private static String getMediaType(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        int parameters = contentType.indexOf(';');
+        return (parameters == -1 ? contentType : contentType.substring(0, parameters)).trim().toLowerCase(Locale.ROOT);
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+}
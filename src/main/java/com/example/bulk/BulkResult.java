@@ -0,0 +1,120 @@
+package com.example.bulk;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Aggregated outcome of a chunked bulk request
+ */
+public class BulkResult {
+
+    private final List<ChunkResult> chunks;
+
+    BulkResult(List<ChunkResult> chunks) {
+        this.chunks = Collections.unmodifiableList(chunks);
+    }
+
+    /**
+     * Gets the result of every chunk, in input order
+     */
+    public List<ChunkResult> getChunks() {
+        return chunks;
+    }
+
+    /**
+     * Gets the chunks that still failed after all retries
+     */
+    public List<ChunkResult> getFailedChunks() {
+        List<ChunkResult> failed = new ArrayList<>();
+        for (ChunkResult chunk : chunks) {
+            if (!chunk.isSuccess()) {
+                failed.add(chunk);
+            }
+        }
+        return failed;
+    }
+
+    public int getTotalItems() {
+        return chunks.stream().mapToInt(ChunkResult::getSize).sum();
+    }
+
+    public int getSucceededItems() {
+        return chunks.stream().filter(ChunkResult::isSuccess).mapToInt(ChunkResult::getSize).sum();
+    }
+
+    public boolean isSuccess() {
+        return chunks.stream().allMatch(ChunkResult::isSuccess);
+    }
+
+    @Override
+    public String toString() {
+        return "BulkResult{chunks=" + chunks.size() + ", items=" + getTotalItems()
+                + ", succeededItems=" + getSucceededItems() + ", failedChunks=" + getFailedChunks().size() + "}";
+    }
+
+    /**
+     * Outcome of a single chunk, after retries
+     */
+    public static class ChunkResult {
+
+        private final int index;
+        private final int fromIndex;
+        private final int size;
+        private final int attempts;
+        private final int statusCode;
+        private final String error;
+        private final long elapsedMillis;
+
+        ChunkResult(int index, int fromIndex, int size, int attempts, int statusCode, String error, long elapsedMillis) {
+            this.index = index;
+            this.fromIndex = fromIndex;
+            this.size = size;
+            this.attempts = attempts;
+            this.statusCode = statusCode;
+            this.error = error;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Gets the position of the chunk's first item in the input list
+         */
+        public int getFromIndex() {
+            return fromIndex;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        /**
+         * Gets the status code of the last attempt, or 0 if it failed without a response
+         */
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        /**
+         * Gets the error of the last attempt, or null if the chunk succeeded
+         */
+        public String getError() {
+            return error;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        public boolean isSuccess() {
+            return error == null;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.dataprovider;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+
+/**
+ * Reads data-driven test rows lazily from JSON-lines or CSV files.
+ * Only one row is held in memory at a time, so data sets of any size can back a TestNG data provider.
+ */
+public class StreamingDataReader {
+
+    /**
+     * System property overriding the directory that holds the data files
+     */
+    public static final String DATA_PATH_PROPERTY = "streamingDataPath";
+    public static final String DEFAULT_DATA_PATH = "src/test/resources/testdata/";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private StreamingDataReader() {
+    }
+
+    /**
+     * Finds the data file for a data set, preferring a .jsonl file over a .csv file
+     *
+     * @param dataSetName the data set name, usually the DTO class name
+     * @return the data file
+     * @throws IllegalArgumentException if neither file exists
+     */
+    public static File resolve(String dataSetName) {
+        String dataPath = System.getProperty(DATA_PATH_PROPERTY, DEFAULT_DATA_PATH);
+        for (String extension : Arrays.asList(".jsonl", ".csv")) {
+            File file = new File(dataPath, dataSetName + extension);
+            if (file.exists()) {
+                return file;
+            }
+        }
+        throw new IllegalArgumentException("No data file found for " + dataSetName + " in " + dataPath);
+    }
+
+    /**
+     * Reads a JSON-lines or CSV file lazily, deserializing each row into the given type
+     *
+     * @param file the data file; CSV files need a header row naming the JSON properties, where dotted
+     *             headers such as "category.name" fill nested objects and cells holding JSON arrays or
+     *             objects are parsed as such
+     * @param type the DTO type of each row
+     * @return an iterator with one single-element row per data line
+     */
+    public static <T> Iterator<Object[]> read(File file, Class<T> type) {
+        boolean csv = file.getName().toLowerCase(Locale.ROOT).endsWith(".csv");
+        return new RowIterator<>(file, type, csv);
+    }
+
+    /**
+     * Splits a CSV line, honouring double-quoted fields and "" escapes
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    /**
+     * Iterates over the rows of a data file, closing it once the last row has been read
+     */
+    private static class RowIterator<T> implements Iterator<Object[]> {
+
+        private final File file;
+        private final Class<T> type;
+        private final boolean csv;
+        private BufferedReader reader;
+        private List<String> header;
+        private String nextLine;
+        private long lineNumber;
+        private boolean finished;
+
+        RowIterator(File file, Class<T> type, boolean csv) {
+            this.file = file;
+            this.type = type;
+            this.csv = csv;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLine != null) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            try {
+                if (reader == null) {
+                    reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+                    if (csv) {
+                        String headerLine = readLine();
+                        header = headerLine != null ? parseCsvLine(headerLine) : Collections.emptyList();
+                    }
+                }
+                nextLine = readLine();
+                if (nextLine == null) {
+                    finished = true;
+                    reader.close();
+                }
+                return nextLine != null;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read data file " + file, e);
+            }
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            try {
+                if (csv) {
+                    List<String> values = parseCsvLine(line);
+                    ObjectNode row = OBJECT_MAPPER.createObjectNode();
+                    for (int i = 0; i < header.size() && i < values.size(); i++) {
+                        // Empty cells are treated as absent properties
+                        if (!values.get(i).isEmpty()) {
+                            putCell(row, header.get(i), values.get(i));
+                        }
+                    }
+                    return new Object[]{OBJECT_MAPPER.treeToValue(row, type)};
+                }
+                return new Object[]{OBJECT_MAPPER.readValue(line, type)};
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid row at " + file + ":" + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Sets a CSV cell on the row tree, nesting dotted headers and parsing JSON array or object cells,
+         * so DTOs with nested objects and lists can be read from CSV
+         */
+        private void putCell(ObjectNode row, String name, String value) throws IOException {
+            String[] path = name.split("\\.");
+            ObjectNode parent = row;
+            for (int i = 0; i < path.length - 1; i++) {
+                JsonNode child = parent.get(path[i]);
+                parent = child instanceof ObjectNode ? (ObjectNode) child : parent.putObject(path[i]);
+            }
+            String trimmed = value.trim();
+            if (trimmed.startsWith("[") || trimmed.startsWith("{")) {
+                parent.set(path[path.length - 1], OBJECT_MAPPER.readTree(trimmed));
+            } else {
+                parent.put(path[path.length - 1], value);
+            }
+        }
+
+        /**
+         * Reads the next non-blank line, skipping blank lines
+         */
+        private String readLine() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (!line.isBlank()) {
+                    return line;
+                }
+            }
+            return null;
+        }
+    }
+}
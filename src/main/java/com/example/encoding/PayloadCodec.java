@@ -0,0 +1,156 @@
+package com.example.encoding;
+
+import com.fasterxml.jackson.databind.AnnotationIntrospector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.restassured.RestAssured;
+import io.restassured.http.Headers;
+import io.restassured.http.Method;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes request bodies as JSON, Smile or CBOR, optionally gzip-compressed, and decodes responses.
+ * Bodies are serialized straight into the (compressing) output stream, without an intermediate String.
+ */
+public class PayloadCodec {
+
+    public static final String JSON = "application/json";
+    public static final String SMILE = "application/x-jackson-smile";
+    public static final String CBOR = "application/cbor";
+    public static final String GZIP = "gzip";
+
+    private static final ObjectMapper JSON_MAPPER = configure(new ObjectMapper());
+    private static final ObjectMapper SMILE_MAPPER = configure(new SmileMapper());
+    private static final ObjectMapper CBOR_MAPPER = configure(new CBORMapper());
+
+    private PayloadCodec() {
+    }
+
+    /**
+     * Writes java.time values as ISO-8601 strings, the date and date-time formats the specification declares
+     */
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        return mapper.registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Sets the annotation introspector of every codec mapper, matching the one set on
+     * APIBaseService.OBJECT_MAPPER so encoded calls see the same DTO properties as the framework
+     *
+     * @param introspector the annotation introspector
+     */
+    public static void setAnnotationIntrospector(AnnotationIntrospector introspector) {
+        for (ObjectMapper mapper : new ObjectMapper[]{JSON_MAPPER, SMILE_MAPPER, CBOR_MAPPER}) {
+            mapper.setAnnotationIntrospector(introspector);
+        }
+    }
+
+    /**
+     * Checks whether a content type can be encoded by this codec
+     *
+     * @param contentType the media type from the specification
+     * @return true for JSON, Smile and CBOR media types
+     */
+    public static boolean isSupported(String contentType) {
+        return getMapper(contentType) != null;
+    }
+
+    /**
+     * Serializes a body for the given content type
+     *
+     * @param body the request DTO or list of DTOs
+     * @param contentType the content type to encode as
+     * @param gzip whether to gzip-compress the encoded body
+     * @return the encoded body
+     * @throws IOException if the body cannot be serialized
+     */
+    public static byte[] encode(Object body, String contentType, boolean gzip) throws IOException {
+        ObjectMapper mapper = getMapper(contentType);
+        if (mapper == null) {
+            throw new IllegalArgumentException("Unsupported content type: " + contentType);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = gzip ? new GZIPOutputStream(bytes) : bytes) {
+            mapper.writeValue(out, body);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Sends an encoded body, advertising gzip support for the response
+     *
+     * @param baseURI the base URI including the base path
+     * @param path the resolved relative path
+     * @param headers the request headers
+     * @param queryParams the query parameters, or null if none
+     * @param method the HTTP method
+     * @param contentType the content type of the body
+     * @param gzip whether the body is gzip-compressed
+     * @param body the encoded body
+     * @return the response; gzip-compressed responses are decompressed transparently
+     */
+    public static Response send(String baseURI, String path, Headers headers, Map<String, Object> queryParams,
+                                Method method, String contentType, boolean gzip, byte[] body) {
+        RequestSpecification request = RestAssured.given()
+                .baseUri(baseURI)
+                .headers(headers)
+                .contentType(contentType)
+                .header("Accept-Encoding", GZIP)
+                .body(body);
+        if (gzip) {
+            request.header("Content-Encoding", GZIP);
+        }
+        if (queryParams != null) {
+            request.queryParams(queryParams);
+        }
+        return request.request(method, path);
+    }
+
+    /**
+     * Deserializes a response body according to its Content-Type, streaming from the response
+     *
+     * @param response the response
+     * @param type the response DTO type
+     * @return the deserialized body
+     * @throws IOException if the body cannot be deserialized
+     */
+    public static <T> T decode(Response response, Class<T> type) throws IOException {
+        ObjectMapper mapper = getMapper(response.getContentType());
+        if (mapper == null) {
+            mapper = JSON_MAPPER;
+        }
+        try (InputStream in = response.asInputStream()) {
+            return mapper.readValue(in, type);
+        }
+    }
+
+    private static ObjectMapper getMapper(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String mediaType = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+        if (SMILE.equals(mediaType) || "application/smile".equals(mediaType)) {
+            return SMILE_MAPPER;
+        }
+        if (CBOR.equals(mediaType)) {
+            return CBOR_MAPPER;
+        }
+        if (JSON.equals(mediaType) || mediaType.endsWith("+json")) {
+            return JSON_MAPPER;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, throughput and payload size metrics for a single API operation.
+ * All recording is lock-free so generated services can record every call.
+ */
+public class OperationMetrics {
+
+    /**
+     * Latencies are bucketed in microseconds with 8 linear sub-buckets per power of two,
+     * which keeps the relative error of reported percentiles below 12.5%
+     */
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    static final int BUCKET_COUNT = (63 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + SUB_BUCKETS;
+
+    private final String tag;
+    private final String operationId;
+    private final AtomicLongArray latencyBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder[] statusClasses = new LongAdder[6];
+    private final LongAdder latencySumMicros = new LongAdder();
+    private final AtomicLong latencyMaxMicros = new AtomicLong();
+    private final LongAdder requestBytes = new LongAdder();
+    private final LongAdder responseBytes = new LongAdder();
+
+    OperationMetrics(String tag, String operationId) {
+        this.tag = tag;
+        this.operationId = operationId;
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a completed call
+     *
+     * @param elapsedNanos the call latency in nanoseconds
+     * @param statusCode the HTTP status code of the response
+     * @param requestSize the request body size in bytes
+     * @param responseSize the response body size in bytes
+     */
+    public void record(long elapsedNanos, int statusCode, long requestSize, long responseSize) {
+        recordLatency(elapsedNanos);
+        int statusClass = statusCode / 100;
+        statusClasses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+        requestBytes.add(requestSize);
+        responseBytes.add(responseSize);
+    }
+
+    /**
+     * Records a call that failed without a response, such as a connection error
+     *
+     * @param elapsedNanos the time until the failure in nanoseconds
+     * @param requestSize the request body size in bytes
+     */
+    public void recordFailure(long elapsedNanos, long requestSize) {
+        recordLatency(elapsedNanos);
+        failures.increment();
+        requestBytes.add(requestSize);
+    }
+
+    private void recordLatency(long elapsedNanos) {
+        long micros = Math.max(0, elapsedNanos / 1000);
+        calls.increment();
+        latencyBuckets.incrementAndGet(bucketIndex(micros));
+        latencySumMicros.add(micros);
+        latencyMaxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Zeroes all counters in place, so services holding on to this instance keep recording into it
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            latencyBuckets.set(i, 0);
+        }
+        calls.reset();
+        failures.reset();
+        for (LongAdder statusClass : statusClasses) {
+            statusClass.reset();
+        }
+        latencySumMicros.reset();
+        latencyMaxMicros.set(0);
+        requestBytes.reset();
+        responseBytes.reset();
+    }
+
+    /**
+     * Takes a point-in-time snapshot of the metrics for reporting
+     *
+     * @return the snapshot, with latency buckets stored sparsely by index
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = latencyBuckets.get(i);
+            if (count > 0) {
+                buckets.put(String.valueOf(i), count);
+            }
+        }
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        for (int i = 1; i < statusClasses.length; i++) {
+            statusCounts.put(i + "xx", statusClasses[i].sum());
+        }
+        statusCounts.put("other", statusClasses[0].sum());
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("tag", tag);
+        snapshot.put("operationId", operationId);
+        snapshot.put("calls", calls.sum());
+        snapshot.put("failures", failures.sum());
+        snapshot.put("statusClasses", statusCounts);
+        snapshot.put("requestBytes", requestBytes.sum());
+        snapshot.put("responseBytes", responseBytes.sum());
+        snapshot.put("latencySumMicros", latencySumMicros.sum());
+        snapshot.put("latencyMaxMicros", latencyMaxMicros.get());
+        snapshot.put("latencyBuckets", buckets);
+        return snapshot;
+    }
+
+    /**
+     * Gets the histogram bucket for a latency
+     */
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKETS) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int subBucket = (int) ((micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the highest latency that falls into a histogram bucket
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int subBucket = index % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Gets the size of a request body in UTF-8 bytes without encoding it
+     *
+     * @param body the request body, may be null
+     * @return the size in bytes
+     */
+    public static long utf8Length(CharSequence body) {
+        if (body == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < body.length(); i++) {
+            char c = body.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < body.length() && Character.isLowSurrogate(body.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.metrics;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the metrics recorded by generated services, keyed by tag and operationId.
+ * Snapshots are written as JSON so the metrics of parallel forks can be merged exactly.
+ */
+public class OperationMetricsRegistry {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final double[] PERCENTILES = {50, 95, 99};
+    private static final Map<String, OperationMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private OperationMetricsRegistry() {
+    }
+
+    /**
+     * Gets the metrics for an operation, creating them on first use
+     *
+     * @param tag the service tag of the operation
+     * @param operationId the operationId from the specification
+     * @return the metrics of the operation
+     */
+    public static OperationMetrics get(String tag, String operationId) {
+        return METRICS.computeIfAbsent(tag + "." + operationId, key -> new OperationMetrics(tag, operationId));
+    }
+
+    /**
+     * Gets a summary of every operation that has been called, ordered by tag and operationId
+     *
+     * @return one snapshot per operation, including latency percentiles in microseconds
+     */
+    public static List<Map<String, Object>> getSnapshots() {
+        List<Map<String, Object>> snapshots = new ArrayList<>();
+        for (OperationMetrics metrics : new TreeMap<>(METRICS).values()) {
+            Map<String, Object> snapshot = metrics.snapshot();
+            if ((Long) snapshot.get("calls") > 0) {
+                snapshots.add(summarize(snapshot));
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Clears all recorded metrics. Generated services cache their metrics instances,
+     * so the counters are zeroed rather than the registry entries removed.
+     */
+    public static void reset() {
+        METRICS.values().forEach(OperationMetrics::reset);
+    }
+
+    /**
+     * Writes the current snapshots to a JSON file
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeTo(File file) throws IOException {
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, getSnapshots());
+    }
+
+    /**
+     * Reads snapshot files written by {@link #writeTo} and merges them per operation,
+     * summing counters and histogram buckets
+     *
+     * @param files the snapshot files, missing files are ignored
+     * @return the merged snapshots
+     * @throws IOException if a file cannot be read
+     */
+    public static List<Map<String, Object>> merge(List<File> files) throws IOException {
+        Map<String, Map<String, Object>> merged = new TreeMap<>();
+        for (File file : files) {
+            if (!file.exists()) {
+                continue;
+            }
+            List<Map<String, Object>> snapshots = OBJECT_MAPPER.readValue(file, new TypeReference<List<Map<String, Object>>>() {});
+            for (Map<String, Object> snapshot : snapshots) {
+                String key = snapshot.get("tag") + "." + snapshot.get("operationId");
+                Map<String, Object> existing = merged.get(key);
+                if (existing == null) {
+                    merged.put(key, snapshot);
+                } else {
+                    mergeInto(existing, snapshot);
+                }
+            }
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> snapshot : merged.values()) {
+            result.add(summarize(snapshot));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void mergeInto(Map<String, Object> target, Map<String, Object> source) {
+        for (String counter : Arrays.asList("calls", "failures", "requestBytes", "responseBytes", "latencySumMicros")) {
+            target.put(counter, toLong(target.get(counter)) + toLong(source.get(counter)));
+        }
+        target.put("latencyMaxMicros", Math.max(toLong(target.get("latencyMaxMicros")), toLong(source.get("latencyMaxMicros"))));
+        for (String histogram : Arrays.asList("statusClasses", "latencyBuckets")) {
+            Map<String, Object> targetCounts = (Map<String, Object>) target.get(histogram);
+            ((Map<String, Object>) source.get(histogram)).forEach((bucket, count) ->
+                    targetCounts.put(bucket, toLong(targetCounts.get(bucket)) + toLong(count)));
+        }
+    }
+
+    /**
+     * Adds the derived fields (errors, mean and percentile latencies) to a snapshot
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> summarize(Map<String, Object> snapshot) {
+        long calls = toLong(snapshot.get("calls"));
+        Map<String, Object> statusClasses = (Map<String, Object>) snapshot.get("statusClasses");
+        snapshot.put("errors", toLong(snapshot.get("failures")) + toLong(statusClasses.get("4xx")) + toLong(statusClasses.get("5xx")));
+        snapshot.put("latencyMeanMicros", calls > 0 ? toLong(snapshot.get("latencySumMicros")) / calls : 0);
+
+        TreeMap<Integer, Long> buckets = new TreeMap<>();
+        ((Map<String, Object>) snapshot.get("latencyBuckets")).forEach((index, count) -> buckets.put(Integer.parseInt(index), toLong(count)));
+        for (double percentile : PERCENTILES) {
+            long rank = (long) Math.ceil(calls * percentile / 100);
+            long seen = 0;
+            long value = 0;
+            for (Map.Entry<Integer, Long> bucket : buckets.entrySet()) {
+                seen += bucket.getValue();
+                if (seen >= rank) {
+                    value = Math.min(OperationMetrics.bucketUpperBound(bucket.getKey()), toLong(snapshot.get("latencyMaxMicros")));
+                    break;
+                }
+            }
+            snapshot.put("latencyP" + (int) percentile + "Micros", value);
+        }
+        return snapshot;
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0 : ((Number) value).longValue();
+    }
+}
@@ -7,17 +7,21 @@ import com.cloud.api.headers.DynamicHeaders;
 import com.cloud.core.config.enums.ConfigKeys;
 import com.cloud.core.testdataprovider.enums.DataProviderType;
 import com.cloud.core.testdataprovider.utils.DataProviderUtil;
+import com.example.dataprovider.StreamingDataReader;
+import com.example.encoding.PayloadCodec;
 import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
 import com.fasterxml.jackson.databind.introspect.JacksonAnnotationIntrospector;
 import io.restassured.http.Header;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.BeforeTest;
+import org.testng.annotations.Listeners;
 import org.testng.asserts.SoftAssert;
 
 import java.util.EnumSet;
 import java.util.HashMap;
 
+@Listeners({TestDurationListener.class, TestReportWriter.class})
 public abstract class BaseTestObject extends APIBaseTest {
 
     public static HashMap<String, String> loginData = null;
@@ -40,7 +44,13 @@ public abstract class BaseTestObject extends APIBaseTest {
             String path = config.getValue(ConfigKeys.KEY_DATA_FILE_PATH.getKey()) + config.getValue(ConfigKeys.KEY_ENVIRONMENT.getKey()).toLowerCase();
             DataProviderUtil.setDataFile(path, DataProviderType.PROPERTY);
 
+            // Streaming data providers read large JSON-lines/CSV data sets from the same environment folder
+            if (System.getProperty(StreamingDataReader.DATA_PATH_PROPERTY) == null) {
+                System.setProperty(StreamingDataReader.DATA_PATH_PROPERTY, path);
+            }
+
             APIBaseService.OBJECT_MAPPER.setAnnotationIntrospector(new IgnoreInheritedIntrospector());
+            PayloadCodec.setAnnotationIntrospector(new IgnoreInheritedIntrospector());
 
 
         } catch (Exception e) {
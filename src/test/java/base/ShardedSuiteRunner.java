@@ -0,0 +1,291 @@
+package base;
+
+import com.example.metrics.OperationMetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Modifier;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+
+/**
+ * Runs the test suite as parallel JVM forks, one per duration-balanced shard,
+ * and merges the fork results back into a single testng-results.xml and HTML report.
+ * Start it with the test classpath, see Sharded_Test_Run.md.
+ */
+public class ShardedSuiteRunner {
+
+    private static final String TEST_RESOURCES_DIR = "src/test/resources";
+    private static final String TEST_CLASSES_DIR = "target/test-classes";
+    private static final String SHARD_OUTPUT_DIR = "target/shards";
+    private static final String TESTNG_MAIN_CLASS = "org.testng.TestNG";
+    private static final String TESTNG_RESULTS_FILE = "testng-results.xml";
+    private static final String SHARD_COUNT_KEY = "testShardCount";
+    private static final String[] FORWARDED_PROPERTIES = {"environment", "updateTestRail", "testType"};
+    private static final String[] RESULT_COUNTERS = {"total", "passed", "failed", "skipped", "ignored"};
+
+    public static void main(String[] args) {
+        try {
+            int shardCount = Integer.parseInt(args.length > 0 ? args[0] : TestRunConfig.getValue(SHARD_COUNT_KEY, "1"));
+            // Forks run in their own working directory, so hand them absolute shared directories
+            System.setProperty(TestDurationListener.DURATION_DIR_PROPERTY, TestDurationListener.getDurationDir().getAbsolutePath());
+            System.setProperty(TestReportWriter.REPORT_DIR_PROPERTY,
+                    new File(TestRunConfig.getValue(TestReportWriter.REPORT_DIR_PROPERTY, TestReportWriter.DEFAULT_REPORT_DIR)).getAbsolutePath());
+
+            List<String> testClasses = findTestClasses();
+            if (testClasses.isEmpty()) {
+                System.out.println("No test classes found under " + TEST_CLASSES_DIR);
+                return;
+            }
+            shardCount = Math.max(1, Math.min(shardCount, testClasses.size()));
+
+            File historyFile = new File(TestDurationListener.getDurationDir(), TestDurationListener.HISTORY_FILE_NAME);
+            List<List<String>> shards = new TestShardPlanner(TestDurationListener.loadDurations(historyFile))
+                    .plan(testClasses, shardCount);
+
+            boolean success = runShards(shards);
+            mergeDurations(historyFile, shards.size());
+            mergeResults(shards.size());
+            mergeReports(shards.size());
+
+            if (!success) {
+                System.err.println("One or more shards failed");
+                System.exit(1);
+            }
+        } catch (Exception e) {
+            System.err.println("Error running sharded suite: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Finds all concrete test classes extending BaseTestObject in the compiled test output
+     *
+     * @return the fully qualified test class names
+     * @throws IOException if the test classes directory cannot be read
+     */
+    private static List<String> findTestClasses() throws IOException {
+        List<String> testClasses = new ArrayList<>();
+        Path root = Paths.get(TEST_CLASSES_DIR);
+        if (!Files.isDirectory(root)) {
+            return testClasses;
+        }
+
+        List<Path> classFiles;
+        try (Stream<Path> files = Files.walk(root)) {
+            classFiles = files.filter(file -> file.toString().endsWith(".class") && !file.toString().contains("$")).sorted().toList();
+        }
+
+        for (Path classFile : classFiles) {
+            String relative = root.relativize(classFile).toString();
+            String className = relative.substring(0, relative.length() - ".class".length()).replace(File.separatorChar, '.');
+            try {
+                Class<?> clazz = Class.forName(className, false, ShardedSuiteRunner.class.getClassLoader());
+                if (BaseTestObject.class.isAssignableFrom(clazz) && !Modifier.isAbstract(clazz.getModifiers())) {
+                    testClasses.add(className);
+                }
+            } catch (ClassNotFoundException | LinkageError e) {
+                System.err.println("Skipping class " + className + ": " + e.getMessage());
+            }
+        }
+        return testClasses;
+    }
+
+    /**
+     * Starts one TestNG fork per shard and waits for all of them.
+     * Each fork runs in its own shard directory so the framework reports and logs of parallel forks do not collide.
+     *
+     * @param shards the test classes of each shard
+     * @return true if every fork exited successfully
+     */
+    private static boolean runShards(List<List<String>> shards) throws IOException, InterruptedException {
+        String javaBin = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = toAbsoluteClassPath(System.getProperty("java.class.path"));
+        checkForkClassPath(classPath);
+
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < shards.size(); i++) {
+            File shardDir = new File(SHARD_OUTPUT_DIR, "shard-" + i).getAbsoluteFile();
+            shardDir.mkdirs();
+            linkTestResources(shardDir);
+
+            List<String> command = new ArrayList<>();
+            command.add(javaBin);
+            command.add("-D" + TestDurationListener.SHARD_INDEX_PROPERTY + "=" + i);
+            command.add("-D" + TestDurationListener.DURATION_DIR_PROPERTY + "=" + System.getProperty(TestDurationListener.DURATION_DIR_PROPERTY));
+            command.add("-D" + TestReportWriter.REPORT_DIR_PROPERTY + "=" + System.getProperty(TestReportWriter.REPORT_DIR_PROPERTY));
+            for (String property : FORWARDED_PROPERTIES) {
+                if (System.getProperty(property) != null) {
+                    command.add("-D" + property + "=" + System.getProperty(property));
+                }
+            }
+            command.add("-cp");
+            command.add(classPath);
+            command.add(TESTNG_MAIN_CLASS);
+            command.add("-d");
+            command.add(shardDir.getPath());
+            command.add("-testclass");
+            command.add(String.join(",", shards.get(i)));
+
+            System.out.println("Starting shard " + i + " with " + shards.get(i).size() + " classes");
+            processes.add(new ProcessBuilder(command)
+                    .directory(shardDir)
+                    .redirectErrorStream(true)
+                    .redirectOutput(new File(shardDir, "output.log"))
+                    .start());
+        }
+
+        boolean success = true;
+        for (int i = 0; i < processes.size(); i++) {
+            int exitCode = processes.get(i).waitFor();
+            System.out.println("Shard " + i + " finished with exit code " + exitCode);
+            success &= exitCode == 0;
+        }
+        return success;
+    }
+
+    /**
+     * Makes the test resources (config, data files) reachable from a fork's working directory,
+     * linking them where the file system allows and copying them otherwise
+     */
+    private static void linkTestResources(File shardDir) throws IOException {
+        Path resources = Paths.get(TEST_RESOURCES_DIR).toAbsolutePath();
+        Path link = shardDir.toPath().resolve(TEST_RESOURCES_DIR);
+        if (Files.isSymbolicLink(link)) {
+            return;
+        }
+        // A copy left by an earlier run may be stale
+        FileUtils.deleteDirectory(link.toFile());
+        Files.createDirectories(link.getParent());
+        try {
+            Files.createSymbolicLink(link, resources);
+        } catch (IOException | UnsupportedOperationException e) {
+            FileUtils.copyDirectory(resources.toFile(), link.toFile());
+        }
+    }
+
+    /**
+     * Fails before starting any fork when the fork classpath cannot run TestNG, for example when the
+     * runner is started through mvn exec:java, whose java.class.path is Maven's launcher classpath
+     */
+    private static void checkForkClassPath(String classPath) throws IOException {
+        List<URL> urls = new ArrayList<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            urls.add(new File(entry).toURI().toURL());
+        }
+        try (URLClassLoader loader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader())) {
+            loader.loadClass(TESTNG_MAIN_CLASS);
+            loader.loadClass(BaseTestObject.class.getName());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Fork classpath is missing " + e.getMessage() + "; start the runner with the test classpath, "
+                    + "e.g. mvn -Psharded-tests test-compile exec:exec -DshardCount=4", e);
+        }
+    }
+
+    private static String toAbsoluteClassPath(String classPath) {
+        List<String> entries = new ArrayList<>();
+        for (String entry : classPath.split(File.pathSeparator)) {
+            entries.add(new File(entry).getAbsolutePath());
+        }
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Folds the per-shard duration files into the duration history
+     */
+    private static void mergeDurations(File historyFile, int shardCount) throws IOException {
+        Properties history = TestDurationListener.loadDurations(historyFile);
+        for (int i = 0; i < shardCount; i++) {
+            File shardFile = new File(TestDurationListener.getDurationDir(), "durations-" + i + ".properties");
+            history.putAll(TestDurationListener.loadDurations(shardFile));
+            shardFile.delete();
+        }
+        TestDurationListener.storeDurations(history, historyFile);
+    }
+
+    /**
+     * Merges the testng-results.xml of each shard into one report, summing the result counters
+     */
+    private static void mergeResults(int shardCount) throws Exception {
+        DocumentBuilder builder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
+        Document merged = builder.newDocument();
+        Element root = merged.createElement("testng-results");
+        merged.appendChild(root);
+        long[] counters = new long[RESULT_COUNTERS.length];
+
+        for (int i = 0; i < shardCount; i++) {
+            File resultsFile = new File(SHARD_OUTPUT_DIR + "/shard-" + i, TESTNG_RESULTS_FILE);
+            if (!resultsFile.exists()) {
+                System.err.println("No results found for shard " + i);
+                continue;
+            }
+
+            Element shardRoot = builder.parse(resultsFile).getDocumentElement();
+            for (int c = 0; c < RESULT_COUNTERS.length; c++) {
+                String value = shardRoot.getAttribute(RESULT_COUNTERS[c]);
+                if (!value.isEmpty()) {
+                    counters[c] += Long.parseLong(value);
+                }
+            }
+
+            NodeList suites = shardRoot.getElementsByTagName("suite");
+            for (int s = 0; s < suites.getLength(); s++) {
+                Node suite = merged.importNode(suites.item(s), true);
+                ((Element) suite).setAttribute("shard", String.valueOf(i));
+                root.appendChild(suite);
+            }
+        }
+
+        for (int c = 0; c < RESULT_COUNTERS.length; c++) {
+            root.setAttribute(RESULT_COUNTERS[c], String.valueOf(counters[c]));
+        }
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        File mergedFile = new File(SHARD_OUTPUT_DIR, TESTNG_RESULTS_FILE);
+        transformer.transform(new DOMSource(merged), new StreamResult(mergedFile));
+        System.out.println("Merged results written to " + mergedFile.getPath()
+                + " (total=" + counters[0] + ", passed=" + counters[1] + ", failed=" + counters[2] + ", skipped=" + counters[3] + ")");
+    }
+
+    /**
+     * Merges the JSON-lines logs and operation metrics of each shard and renders the combined HTML report
+     */
+    private static void mergeReports(int shardCount) throws IOException {
+        List<File> logFiles = new ArrayList<>();
+        List<File> metricsFiles = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            logFiles.add(new File(TestReportWriter.getReportDir(), "results-" + i + ".jsonl"));
+            metricsFiles.add(new File(TestReportWriter.getReportDir(), "metrics-" + i + ".json"));
+        }
+        File mergedLog = new File(TestReportWriter.getReportDir(), TestReportWriter.LOG_FILE_NAME);
+        TestReportRenderer.merge(logFiles, mergedLog);
+
+        List<Map<String, Object>> metrics = OperationMetricsRegistry.merge(metricsFiles);
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+                .writeValue(new File(TestReportWriter.getReportDir(), TestReportWriter.METRICS_FILE_NAME), metrics);
+        TestReportRenderer.render(mergedLog, metrics, new File(TestReportWriter.getReportDir(), TestReportWriter.HTML_FILE_NAME));
+    }
+}
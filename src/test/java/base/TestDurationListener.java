@@ -0,0 +1,118 @@
+package base;
+
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records per-test and per-class durations so later runs can balance shards.
+ * Durations are written as a property file keyed by "class#method" and by class name.
+ */
+public class TestDurationListener implements ITestListener {
+
+    public static final String DURATION_DIR_PROPERTY = "testDurationFilePath";
+    public static final String SHARD_INDEX_PROPERTY = "testShardIndex";
+    public static final String DEFAULT_DURATION_DIR = "target/test-durations/";
+    public static final String HISTORY_FILE_NAME = "durations.properties";
+    public static final String METHOD_SEPARATOR = "#";
+
+    private static final Map<String, Long> testDurations = new ConcurrentHashMap<>();
+    private static final Map<String, Long> classDurations = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        record(result);
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        String shardIndex = System.getProperty(SHARD_INDEX_PROPERTY);
+        String fileName = shardIndex != null ? "durations-" + shardIndex + ".properties" : HISTORY_FILE_NAME;
+        File file = new File(getDurationDir(), fileName);
+
+        Properties properties = new Properties();
+        testDurations.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+        classDurations.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+
+        try {
+            // Keep history for classes that did not run this time
+            if (shardIndex == null) {
+                Properties history = loadDurations(file);
+                history.putAll(properties);
+                properties = history;
+            }
+            storeDurations(properties, file);
+        } catch (IOException e) {
+            System.err.println("Failed to write test durations: " + e.getMessage());
+        }
+    }
+
+    private void record(ITestResult result) {
+        String className = result.getTestClass().getName();
+        long duration = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        testDurations.merge(className + METHOD_SEPARATOR + result.getMethod().getMethodName(), duration, Long::sum);
+        classDurations.merge(className, duration, Long::sum);
+    }
+
+    /**
+     * Gets the directory where duration files are kept, from the system property or config.cfg
+     *
+     * @return the duration directory
+     */
+    public static File getDurationDir() {
+        return new File(TestRunConfig.getValue(DURATION_DIR_PROPERTY, DEFAULT_DURATION_DIR));
+    }
+
+    /**
+     * Loads a duration property file, returning empty properties if it does not exist
+     *
+     * @param file the duration file
+     * @return the recorded durations
+     * @throws IOException if the file cannot be read
+     */
+    public static Properties loadDurations(File file) throws IOException {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+
+    /**
+     * Writes durations to a property file, creating the parent directory if needed
+     *
+     * @param properties the durations to write
+     * @param file the duration file
+     * @throws IOException if the file cannot be written
+     */
+    public static void storeDurations(Properties properties, File file) throws IOException {
+        if (file.getParentFile() != null && !file.getParentFile().exists()) {
+            file.getParentFile().mkdirs();
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            properties.store(out, "Test durations in milliseconds");
+        }
+    }
+}
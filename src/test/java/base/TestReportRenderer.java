@@ -0,0 +1,182 @@
+package base;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Renders the JSON-lines test log written by {@link TestReportWriter} to HTML
+ * and merges the logs of parallel forks. Both work one line at a time.
+ */
+public class TestReportRenderer {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Renders a JSON-lines log to an HTML report in two streaming passes:
+     * the first counts results for the summary, the second writes the rows
+     *
+     * @param logFile the JSON-lines log
+     * @param metrics the per-operation metrics snapshots to include, may be empty
+     * @param htmlFile the HTML report to write
+     * @throws IOException if the log cannot be read or the report written
+     */
+    public static void render(File logFile, List<Map<String, Object>> metrics, File htmlFile) throws IOException {
+        if (!logFile.exists()) {
+            System.out.println("No test results to render at " + logFile.getPath());
+            return;
+        }
+
+        long passed = 0;
+        long failed = 0;
+        long skipped = 0;
+        long totalDuration = 0;
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record = OBJECT_MAPPER.readTree(line);
+                switch (record.path("status").asText()) {
+                    case "PASS" -> passed++;
+                    case "FAIL" -> failed++;
+                    default -> skipped++;
+                }
+                totalDuration += record.path("durationMs").asLong();
+            }
+        }
+
+        htmlFile.getAbsoluteFile().getParentFile().mkdirs();
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8);
+             BufferedWriter writer = Files.newBufferedWriter(htmlFile.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n");
+            writer.write("<title>Automation Test Suite Report</title>\n");
+            writer.write("<style>body{font-family:sans-serif}table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:4px 8px}"
+                    + ".PASS{color:#2e7d32}.FAIL{color:#c62828}.SKIP{color:#f9a825}</style>\n");
+            writer.write("</head>\n<body>\n<h1>Automation Test Suite Report</h1>\n");
+            writer.write("<p>Total: " + (passed + failed + skipped) + " | Passed: " + passed + " | Failed: " + failed
+                    + " | Skipped: " + skipped + " | Duration: " + totalDuration + " ms</p>\n");
+            writer.write("<table>\n<tr><th>Class</th><th>Test</th><th>Status</th><th>Duration (ms)</th><th>Shard</th><th>Error</th></tr>\n");
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode record = OBJECT_MAPPER.readTree(line);
+                String status = record.path("status").asText();
+                writer.write("<tr><td>" + escape(record.path("className").asText())
+                        + "</td><td>" + escape(record.path("method").asText())
+                        + "</td><td class=\"" + status + "\">" + status
+                        + "</td><td>" + record.path("durationMs").asLong()
+                        + "</td><td>" + (record.has("shard") ? record.get("shard").asInt() : "")
+                        + "</td><td>" + escape(record.path("error").asText("")) + "</td></tr>\n");
+            }
+            writer.write("</table>\n");
+            writeMetrics(writer, metrics);
+            writer.write("</body>\n</html>\n");
+        }
+        System.out.println("Test report written to " + htmlFile.getPath());
+    }
+
+    /**
+     * Merges fork logs into one log, interleaving records by start time.
+     * Only the current head line of every log is held in memory.
+     *
+     * @param logFiles the fork logs to merge
+     * @param mergedFile the merged log to write
+     * @throws IOException if a log cannot be read or the merged log written
+     */
+    public static void merge(List<File> logFiles, File mergedFile) throws IOException {
+        List<BufferedReader> readers = new ArrayList<>();
+        PriorityQueue<LogHead> heads = new PriorityQueue<>(Comparator.comparingLong((LogHead head) -> head.startMillis)
+                .thenComparingInt(head -> head.readerIndex));
+        mergedFile.getAbsoluteFile().getParentFile().mkdirs();
+
+        try (BufferedWriter writer = Files.newBufferedWriter(mergedFile.toPath(), StandardCharsets.UTF_8)) {
+            for (File logFile : logFiles) {
+                if (logFile.exists()) {
+                    BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8);
+                    readers.add(reader);
+                    advance(reader, readers.size() - 1, heads);
+                }
+            }
+
+            while (!heads.isEmpty()) {
+                LogHead head = heads.poll();
+                writer.write(head.line);
+                writer.newLine();
+                advance(readers.get(head.readerIndex), head.readerIndex, heads);
+            }
+        } finally {
+            for (BufferedReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private static void advance(BufferedReader reader, int readerIndex, PriorityQueue<LogHead> heads) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                heads.add(new LogHead(line, OBJECT_MAPPER.readTree(line).path("startMillis").asLong(), readerIndex));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writes the per-operation latency and throughput table, latencies in milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    private static void writeMetrics(BufferedWriter writer, List<Map<String, Object>> metrics) throws IOException {
+        if (metrics == null || metrics.isEmpty()) {
+            return;
+        }
+        writer.write("<h2>API Operation Metrics</h2>\n<table>\n<tr><th>Tag</th><th>Operation</th><th>Calls</th><th>Errors</th>"
+                + "<th>2xx</th><th>4xx</th><th>5xx</th><th>Mean (ms)</th><th>p50 (ms)</th><th>p95 (ms)</th><th>p99 (ms)</th>"
+                + "<th>Max (ms)</th><th>Request bytes</th><th>Response bytes</th></tr>\n");
+        for (Map<String, Object> operation : metrics) {
+            Map<String, Object> statusClasses = (Map<String, Object>) operation.get("statusClasses");
+            writer.write("<tr><td>" + escape(String.valueOf(operation.get("tag")))
+                    + "</td><td>" + escape(String.valueOf(operation.get("operationId")))
+                    + "</td><td>" + operation.get("calls")
+                    + "</td><td>" + operation.get("errors")
+                    + "</td><td>" + statusClasses.get("2xx")
+                    + "</td><td>" + statusClasses.get("4xx")
+                    + "</td><td>" + statusClasses.get("5xx")
+                    + "</td><td>" + toMillis(operation.get("latencyMeanMicros"))
+                    + "</td><td>" + toMillis(operation.get("latencyP50Micros"))
+                    + "</td><td>" + toMillis(operation.get("latencyP95Micros"))
+                    + "</td><td>" + toMillis(operation.get("latencyP99Micros"))
+                    + "</td><td>" + toMillis(operation.get("latencyMaxMicros"))
+                    + "</td><td>" + operation.get("requestBytes")
+                    + "</td><td>" + operation.get("responseBytes") + "</td></tr>\n");
+        }
+        writer.write("</table>\n");
+    }
+
+    private static String toMillis(Object micros) {
+        return String.format(Locale.ROOT, "%.2f", ((Number) micros).longValue() / 1000.0);
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    private record LogHead(String line, long startMillis, int readerIndex) {
+    }
+}
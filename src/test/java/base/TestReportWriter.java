@@ -0,0 +1,158 @@
+package base;
+
+import com.example.metrics.OperationMetricsRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends every test result to a JSON-lines log as soon as it completes,
+ * so large suites do not hold results in memory and a crash keeps what ran.
+ */
+public class TestReportWriter implements ITestListener, ISuiteListener {
+
+    public static final String REPORT_DIR_PROPERTY = "reportLogPath";
+    public static final String DEFAULT_REPORT_DIR = "target/test-reports/";
+    public static final String LOG_FILE_NAME = "results.jsonl";
+    public static final String HTML_FILE_NAME = "AutomationReport.html";
+    public static final String METRICS_FILE_NAME = "metrics.json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static BufferedWriter writer;
+    private static boolean truncated;
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        append(result, "PASS");
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        append(result, "FAIL");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        append(result, "SKIP");
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        try {
+            open();
+        } catch (IOException e) {
+            System.err.println("Failed to open test report log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        close();
+        try {
+            OperationMetricsRegistry.writeTo(getMetricsFile());
+            // Forks only write logs; the sharded runner merges and renders them
+            if (System.getProperty(TestDurationListener.SHARD_INDEX_PROPERTY) == null) {
+                TestReportRenderer.render(getLogFile(), OperationMetricsRegistry.getSnapshots(), new File(getReportDir(), HTML_FILE_NAME));
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to render test report: " + e.getMessage());
+        }
+    }
+
+    private void append(ITestResult result, String status) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        record.put("suite", result.getTestContext().getSuite().getName());
+        record.put("className", result.getTestClass().getName());
+        record.put("method", result.getMethod().getMethodName());
+        record.put("status", status);
+        record.put("startMillis", result.getStartMillis());
+        record.put("durationMs", Math.max(0, result.getEndMillis() - result.getStartMillis()));
+        if (result.getThrowable() != null) {
+            record.put("error", String.valueOf(result.getThrowable().getMessage()));
+        }
+        String shardIndex = System.getProperty(TestDurationListener.SHARD_INDEX_PROPERTY);
+        if (shardIndex != null) {
+            record.put("shard", Integer.parseInt(shardIndex));
+        }
+
+        try {
+            String line = OBJECT_MAPPER.writeValueAsString(record);
+            synchronized (TestReportWriter.class) {
+                if (writer == null) {
+                    open();
+                }
+                writer.write(line);
+                writer.newLine();
+                writer.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to append test result: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Opens the log, truncating it on the first suite of a run so a run without results
+     * never renders the previous run's log; later suites of the same run append
+     */
+    private static synchronized void open() throws IOException {
+        if (writer != null) {
+            return;
+        }
+        File logFile = getLogFile();
+        logFile.getAbsoluteFile().getParentFile().mkdirs();
+        writer = Files.newBufferedWriter(logFile.toPath(), StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                truncated ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING);
+        truncated = true;
+    }
+
+    private static synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("Failed to close test report log: " + e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Gets the directory where report logs are written, from the system property or config.cfg
+     *
+     * @return the report directory
+     */
+    public static File getReportDir() {
+        return new File(TestRunConfig.getValue(REPORT_DIR_PROPERTY, DEFAULT_REPORT_DIR));
+    }
+
+    /**
+     * Gets the log file for this JVM, one per shard when running sharded
+     *
+     * @return the JSON-lines log file
+     */
+    public static File getLogFile() {
+        String shardIndex = System.getProperty(TestDurationListener.SHARD_INDEX_PROPERTY);
+        return new File(getReportDir(), shardIndex != null ? "results-" + shardIndex + ".jsonl" : LOG_FILE_NAME);
+    }
+
+    /**
+     * Gets the operation metrics file for this JVM, one per shard when running sharded
+     *
+     * @return the metrics file
+     */
+    public static File getMetricsFile() {
+        String shardIndex = System.getProperty(TestDurationListener.SHARD_INDEX_PROPERTY);
+        return new File(getReportDir(), shardIndex != null ? "metrics-" + shardIndex + ".json" : METRICS_FILE_NAME);
+    }
+}
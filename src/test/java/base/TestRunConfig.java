@@ -0,0 +1,53 @@
+package base;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Resolves run settings for the listeners and the sharded runner: a system property wins, then config.cfg.
+ * Listeners start before the framework loads its config in @BeforeSuite, so they read config.cfg directly.
+ */
+public class TestRunConfig {
+
+    public static final String CONFIG_FILE_PATH = "src/test/resources/config/config.cfg";
+
+    private static Properties config;
+
+    private TestRunConfig() {
+    }
+
+    /**
+     * Gets a run setting
+     *
+     * @param key the system property and config.cfg key
+     * @param defaultValue the value to use if neither defines the key
+     * @return the resolved value
+     */
+    public static String getValue(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = load().getProperty(key);
+        }
+        return value != null && !value.isBlank() ? value.trim() : defaultValue;
+    }
+
+    private static synchronized Properties load() {
+        if (config == null) {
+            Properties properties = new Properties();
+            File file = new File(CONFIG_FILE_PATH);
+            if (file.exists()) {
+                try (InputStream in = new FileInputStream(file)) {
+                    properties.load(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read " + CONFIG_FILE_PATH, e);
+                }
+            }
+            config = properties;
+        }
+        return config;
+    }
+}
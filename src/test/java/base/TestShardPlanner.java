@@ -0,0 +1,86 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+
+/**
+ * Splits test classes into balanced shards using recorded durations.
+ * Classes are assigned longest first to the currently lightest shard (LPT).
+ */
+public class TestShardPlanner {
+
+    private final Map<String, Long> classDurations = new HashMap<>();
+
+    public TestShardPlanner(Properties durations) {
+        Map<String, Long> summedTestDurations = new HashMap<>();
+        for (String key : durations.stringPropertyNames()) {
+            long duration = Long.parseLong(durations.getProperty(key).trim());
+            int separator = key.indexOf(TestDurationListener.METHOD_SEPARATOR);
+            if (separator == -1) {
+                classDurations.put(key, duration);
+            } else {
+                summedTestDurations.merge(key.substring(0, separator), duration, Long::sum);
+            }
+        }
+        // Fall back to summed per-test durations when no class total was recorded
+        summedTestDurations.forEach(classDurations::putIfAbsent);
+    }
+
+    /**
+     * Plans the shards for the given test classes
+     *
+     * @param testClasses the fully qualified test class names
+     * @param shardCount the number of shards to create
+     * @return one list of class names per shard
+     */
+    public List<List<String>> plan(List<String> testClasses, int shardCount) {
+        long defaultDuration = getDefaultDuration(testClasses);
+
+        List<String> sortedClasses = new ArrayList<>(testClasses);
+        sortedClasses.sort(Comparator.comparingLong((String className) -> classDurations.getOrDefault(className, defaultDuration))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<List<String>> shards = new ArrayList<>();
+        long[] loads = new long[shardCount];
+        PriorityQueue<Integer> lightest = new PriorityQueue<>(
+                Comparator.comparingLong((Integer index) -> loads[index]).thenComparingInt(index -> index));
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ArrayList<>());
+            lightest.add(i);
+        }
+
+        for (String className : sortedClasses) {
+            int index = lightest.poll();
+            shards.get(index).add(className);
+            loads[index] += classDurations.getOrDefault(className, defaultDuration);
+            lightest.add(index);
+        }
+
+        for (int i = 0; i < shardCount; i++) {
+            System.out.println("Shard " + i + ": " + shards.get(i).size() + " classes, estimated " + loads[i] + " ms");
+        }
+        return shards;
+    }
+
+    /**
+     * Gets the duration used for classes without history (the mean of known classes)
+     */
+    private long getDefaultDuration(List<String> testClasses) {
+        long total = 0;
+        int known = 0;
+        for (String className : testClasses) {
+            Long duration = classDurations.get(className);
+            if (duration != null) {
+                total += duration;
+                known++;
+            }
+        }
+        return known > 0 ? Math.max(1, total / known) : 1;
+    }
+}
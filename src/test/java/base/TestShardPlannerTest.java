@@ -0,0 +1,52 @@
+package base;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+public class TestShardPlannerTest {
+
+    @Test
+    public void assignsLongestClassesToLightestShard() {
+        Properties durations = new Properties();
+        durations.setProperty("A", "50");
+        durations.setProperty("B", "40");
+        durations.setProperty("C", "30");
+        durations.setProperty("D", "20");
+        durations.setProperty("E", "10");
+
+        List<List<String>> shards = new TestShardPlanner(durations).plan(Arrays.asList("E", "D", "C", "B", "A"), 2);
+
+        Assert.assertEquals(shards.get(0), Arrays.asList("A", "D", "E"));
+        Assert.assertEquals(shards.get(1), Arrays.asList("B", "C"));
+    }
+
+    @Test
+    public void sumsTestDurationsWhenClassTotalIsMissing() {
+        Properties durations = new Properties();
+        durations.setProperty("X" + TestDurationListener.METHOD_SEPARATOR + "first", "5");
+        durations.setProperty("X" + TestDurationListener.METHOD_SEPARATOR + "second", "7");
+        durations.setProperty("Y", "10");
+
+        List<List<String>> shards = new TestShardPlanner(durations).plan(Arrays.asList("Y", "X"), 2);
+
+        Assert.assertEquals(shards.get(0), Arrays.asList("X"));
+        Assert.assertEquals(shards.get(1), Arrays.asList("Y"));
+    }
+
+    @Test
+    public void weighsUnknownClassesWithMeanDuration() {
+        Properties durations = new Properties();
+        durations.setProperty("A", "100");
+        durations.setProperty("B", "20");
+
+        // New has the mean weight 60, so it joins B rather than A
+        List<List<String>> shards = new TestShardPlanner(durations).plan(Arrays.asList("A", "B", "New"), 2);
+
+        Assert.assertEquals(shards.get(0), Arrays.asList("A"));
+        Assert.assertEquals(shards.get(1), Arrays.asList("New", "B"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.example;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class GeneratedSourceVerifierTest {
+
+    private static final String SERVICE_SOURCE = "package com.example.service;\n"
+            + "public class PetService {\n"
+            + "    private com.example.dto.ResponseDTO.Pet pet;\n"
+            + "    private com.example.dataprovider.StreamingDataReader reader;\n"
+            + "}\n";
+
+    private String classPath;
+
+    @BeforeClass
+    public void compileStaleClasses() throws Exception {
+        // Simulates target/classes holding a DTO from an earlier run next to a hand-written class
+        Path sourceDir = Files.createTempDirectory("stale-sources");
+        Path classDir = Files.createTempDirectory("stale-classes");
+        Path pet = write(sourceDir, "com/example/dto/ResponseDTO/Pet.java", "package com.example.dto.ResponseDTO;\npublic class Pet {\n}\n");
+        Path reader = write(sourceDir, "com/example/dataprovider/StreamingDataReader.java", "package com.example.dataprovider;\npublic class StreamingDataReader {\n}\n");
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assert.assertEquals(compiler.run(null, null, null, "-d", classDir.toString(), pet.toString(), reader.toString()), 0);
+        classPath = classDir.toString();
+    }
+
+    @Test
+    public void ignoresStaleClassesOfGeneratedTypes() {
+        GeneratedSourceVerifier verifier = new GeneratedSourceVerifier(DTOGenerator::isGeneratedClass, classPath);
+        verifier.add("com.example.service.PetService", SERVICE_SOURCE);
+
+        Assert.assertThrows(IllegalStateException.class, verifier::verify);
+    }
+
+    @Test
+    public void resolvesGeneratedTypesFromStagedSources() {
+        GeneratedSourceVerifier verifier = new GeneratedSourceVerifier(DTOGenerator::isGeneratedClass, classPath);
+        verifier.add("com.example.service.PetService", SERVICE_SOURCE);
+        verifier.add("com.example.dto.ResponseDTO.Pet", "package com.example.dto.ResponseDTO;\npublic class Pet {\n}\n");
+
+        verifier.verify();
+    }
+
+    private Path write(Path dir, String relativePath, String javaCode) throws Exception {
+        Path file = dir.resolve(relativePath.replace('/', File.separatorChar));
+        Files.createDirectories(file.getParent());
+        return Files.write(file, javaCode.getBytes(StandardCharsets.UTF_8));
+    }
+}
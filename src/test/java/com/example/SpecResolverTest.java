@@ -0,0 +1,121 @@
+package com.example;
+
+import io.swagger.v3.oas.models.OpenAPI;
+import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
+import io.swagger.v3.oas.models.parameters.RequestBody;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class SpecResolverTest {
+
+    private static final String FIXTURE_DIR = "src/test/resources/specs/multifile/";
+    private static final String MULTI_ROOT_DIR = "src/test/resources/specs/multiroot/";
+
+    @Test
+    public void replacesComponentAliasingAnExternalSchema() throws Exception {
+        Map<String, Schema> schemas = load("root.yaml").getComponents().getSchemas();
+
+        Schema pet = schemas.get("Pet");
+        Assert.assertNull(pet.get$ref());
+        Assert.assertEquals(pet.getProperties().keySet(), new HashSet<>(Arrays.asList("id", "name", "category")));
+        Assert.assertEquals(((Schema) pet.getProperties().get("category")).get$ref(), "#/components/schemas/Category");
+        Assert.assertTrue(schemas.get("Category").getProperties().containsKey("name"));
+    }
+
+    @Test
+    public void replacesComponentAliasingAnExternalFile() throws Exception {
+        Map<String, Schema> schemas = load("whole-file-root.yaml").getComponents().getSchemas();
+
+        Schema pet = schemas.get("Pet");
+        Assert.assertNull(pet.get$ref());
+        Assert.assertTrue(pet.getProperties().containsKey("id"));
+        Assert.assertEquals(((Schema) pet.getProperties().get("category")).get$ref(), "#/components/schemas/Category");
+        Assert.assertNotNull(schemas.get("Category"));
+    }
+
+    @Test
+    public void renamesExternalSchemaCollidingWithComponent() throws Exception {
+        OpenAPI openAPI = load("root.yaml");
+        Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+
+        Assert.assertTrue(schemas.get("Error").getProperties().containsKey("code"));
+        Assert.assertTrue(schemas.get("SharedError").getProperties().containsKey("message"));
+        Assert.assertEquals(getResponseSchema(openAPI.getPaths().get("/pets").getPost(), "400").get$ref(),
+                "#/components/schemas/SharedError");
+    }
+
+    @Test
+    public void inlinesLocalAndExternalParameterRefs() throws Exception {
+        List<Parameter> parameters = load("ref-parameters.yaml").getPaths().get("/pets").getGet().getParameters();
+
+        Assert.assertEquals(parameters.size(), 2);
+        Assert.assertEquals(parameters.get(0).getName(), "limit");
+        Assert.assertEquals(parameters.get(0).getIn(), "query");
+        Assert.assertEquals(parameters.get(0).getSchema().getType(), "integer");
+        Assert.assertEquals(parameters.get(1).getName(), "offset");
+        Assert.assertEquals(parameters.get(1).getIn(), "query");
+    }
+
+    @Test
+    public void inlinesLocalAndExternalRequestBodyRefs() throws Exception {
+        OpenAPI openAPI = load("ref-request-body.yaml");
+
+        for (Operation operation : Arrays.asList(openAPI.getPaths().get("/pets").getPost(), openAPI.getPaths().get("/pets").getPut())) {
+            RequestBody requestBody = operation.getRequestBody();
+            Assert.assertNull(requestBody.get$ref());
+            Assert.assertEquals(requestBody.getContent().get("application/json").getSchema().get$ref(), "#/components/schemas/Pet");
+        }
+        Assert.assertTrue(openAPI.getPaths().get("/pets").getPost().getRequestBody().getRequired());
+        Assert.assertTrue(openAPI.getComponents().getSchemas().get("Pet").getProperties().containsKey("category"));
+    }
+
+    @Test
+    public void inlinesLocalAndExternalResponseRefs() throws Exception {
+        OpenAPI openAPI = load("ref-responses.yaml");
+        Operation findPets = openAPI.getPaths().get("/pets").getGet();
+
+        Assert.assertEquals(getResponseSchema(findPets, "200").getItems().get$ref(), "#/components/schemas/Pet");
+        Assert.assertEquals(getResponseSchema(findPets, "404").get$ref(), "#/components/schemas/Error");
+        Assert.assertNotNull(openAPI.getComponents().getSchemas().get("Pet"));
+    }
+
+    @Test
+    public void namesComponentsOfSeveralRootSpecsIndependentOfOrder() throws Exception {
+        for (List<String> order : Arrays.asList(Arrays.asList("a.yaml", "b.yaml"), Arrays.asList("b.yaml", "a.yaml"))) {
+            OpenAPI openAPI = new SpecResolver().load(Arrays.asList(MULTI_ROOT_DIR + order.get(0), MULTI_ROOT_DIR + order.get(1)));
+            Map<String, Schema> schemas = openAPI.getComponents().getSchemas();
+
+            // A's Pet aliases B's Pet, so both specs share one populated Pet
+            Assert.assertNull(schemas.get("Pet").get$ref(), order.toString());
+            Assert.assertTrue(schemas.get("Pet").getProperties().containsKey("name"), order.toString());
+            Assert.assertEquals(getResponseSchema(openAPI.getPaths().get("/a/pets").getGet(), "200").getItems().get$ref(),
+                    "#/components/schemas/Pet");
+
+            // Each spec's Error refs bind to its own Error, whichever spec keeps the plain name
+            Schema errorOfA = getReferencedSchema(schemas, getResponseSchema(openAPI.getPaths().get("/a/pets").getGet(), "400"));
+            Schema errorOfB = getReferencedSchema(schemas, getResponseSchema(openAPI.getPaths().get("/b/pets").getPost(), "400"));
+            Assert.assertTrue(errorOfA.getProperties().containsKey("code"), order.toString());
+            Assert.assertTrue(errorOfB.getProperties().containsKey("message"), order.toString());
+        }
+    }
+
+    private OpenAPI load(String specFile) throws Exception {
+        return new SpecResolver().load(Collections.singletonList(FIXTURE_DIR + specFile));
+    }
+
+    private Schema getResponseSchema(Operation operation, String status) {
+        return operation.getResponses().get(status).getContent().get("application/json").getSchema();
+    }
+
+    private Schema getReferencedSchema(Map<String, Schema> schemas, Schema ref) {
+        return schemas.get(ref.get$ref().substring("#/components/schemas/".length()));
+    }
+}
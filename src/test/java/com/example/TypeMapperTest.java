@@ -0,0 +1,101 @@
+package com.example;
+
+import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.IntegerSchema;
+import io.swagger.v3.oas.models.media.MapSchema;
+import io.swagger.v3.oas.models.media.NumberSchema;
+import io.swagger.v3.oas.models.media.ObjectSchema;
+import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.media.StringSchema;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class TypeMapperTest {
+
+    @Test
+    public void mapsNestedArraysToNestedLists() {
+        Set<String> imports = new TreeSet<>();
+        Schema matrix = new ArraySchema().items(new ArraySchema().items(new IntegerSchema().format("int64")));
+
+        Assert.assertEquals(new TypeMapper(false).getType(matrix, imports), "List<List<Long>>");
+        Assert.assertEquals(imports, Collections.singleton("java.util.List"));
+    }
+
+    @Test
+    public void mapsAdditionalPropertiesToMaps() {
+        Set<String> imports = new TreeSet<>();
+        Schema pets = new MapSchema().additionalProperties(new Schema<>().$ref("#/components/schemas/Pet"));
+        Schema dates = new MapSchema().additionalProperties(new StringSchema().format("date"));
+
+        TypeMapper typeMapper = new TypeMapper(false);
+        Assert.assertEquals(typeMapper.getType(pets, imports), "Map<String, Pet>");
+        Assert.assertEquals(typeMapper.getType(dates, imports), "Map<String, LocalDate>");
+        Assert.assertEquals(imports, new TreeSet<>(Arrays.asList("java.time.LocalDate", "java.util.Map")));
+    }
+
+    @Test
+    public void mapsFreeFormObjectsToObjectMaps() {
+        Set<String> imports = new TreeSet<>();
+        TypeMapper typeMapper = new TypeMapper(false);
+
+        Assert.assertEquals(typeMapper.getType(new ObjectSchema(), imports), "Map<String, Object>");
+        Assert.assertEquals(typeMapper.getType(new MapSchema().additionalProperties(true), imports), "Map<String, Object>");
+        Assert.assertEquals(imports, Collections.singleton("java.util.Map"));
+    }
+
+    @Test
+    public void mapsNumericArraysToPrimitiveArraysWithSystemProperty() throws Exception {
+        System.setProperty(TypeMapper.PRIMITIVE_ARRAYS_PROPERTY, "true");
+        try {
+            TypeMapper typeMapper = TypeMapper.fromSystemProperties();
+            Set<String> imports = new TreeSet<>();
+
+            Assert.assertEquals(typeMapper.getType(new ArraySchema().items(new IntegerSchema().format("int64")), imports), "long[]");
+            Assert.assertEquals(typeMapper.getType(new ArraySchema().items(new NumberSchema().format("float")), imports), "float[]");
+            Assert.assertEquals(typeMapper.getType(new ArraySchema().items(new StringSchema()), imports), "List<String>");
+            Assert.assertEquals(imports, Collections.singleton("java.util.List"));
+        } finally {
+            System.clearProperty(TypeMapper.PRIMITIVE_ARRAYS_PROPERTY);
+        }
+    }
+
+    @Test
+    public void mapsNumericArraysToPrimitiveArraysWithExtension() {
+        Schema scores = new ArraySchema().items(new NumberSchema());
+        scores.addExtension(TypeMapper.PRIMITIVE_ARRAY_EXTENSION, true);
+        Schema ids = new ArraySchema().items(new IntegerSchema());
+
+        TypeMapper typeMapper = new TypeMapper(false);
+        Set<String> imports = new TreeSet<>();
+        Assert.assertEquals(typeMapper.getType(scores, imports), "double[]");
+        Assert.assertEquals(typeMapper.getType(ids, imports), "List<Integer>");
+    }
+
+    @Test
+    public void registersTypeMappingsFromFile() throws Exception {
+        File mappings = File.createTempFile("type-mappings", ".properties");
+        mappings.deleteOnExit();
+        Files.write(mappings.toPath(), Arrays.asList("string.uuid = java.util.UUID", "integer = java.math.BigInteger"), StandardCharsets.UTF_8);
+
+        System.setProperty(TypeMapper.TYPE_MAPPINGS_PROPERTY, mappings.getPath());
+        try {
+            TypeMapper typeMapper = TypeMapper.fromSystemProperties();
+            Set<String> imports = new TreeSet<>();
+
+            Assert.assertEquals(typeMapper.getType(new StringSchema().format("uuid"), imports), "UUID");
+            Assert.assertEquals(typeMapper.getType(new IntegerSchema(), imports), "BigInteger");
+            Assert.assertEquals(typeMapper.getType(new IntegerSchema().format("int64"), imports), "Long");
+            Assert.assertEquals(imports, new TreeSet<>(Arrays.asList("java.math.BigInteger", "java.util.UUID")));
+        } finally {
+            System.clearProperty(TypeMapper.TYPE_MAPPINGS_PROPERTY);
+        }
+    }
+}
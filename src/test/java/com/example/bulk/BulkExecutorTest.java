@@ -0,0 +1,97 @@
+package com.example.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BulkExecutorTest {
+
+    private static final List<Integer> ITEMS = Arrays.asList(1, 2, 3);
+
+    @Test
+    public void doesNotRetryClientErrors() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BulkResult result = BulkExecutor.execute(ITEMS, options(), chunk -> {
+            calls.incrementAndGet();
+            return response(409);
+        });
+
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(result.getChunks().get(0).getAttempts(), 1);
+        Assert.assertEquals(result.getChunks().get(0).getStatusCode(), 409);
+        Assert.assertFalse(result.isSuccess());
+    }
+
+    @Test
+    public void retriesServerErrorsAndExceptions() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BulkResult result = BulkExecutor.execute(ITEMS, options(), chunk -> {
+            switch (calls.incrementAndGet()) {
+                case 1:
+                    throw new IOException("Connection reset");
+                case 2:
+                    return response(503);
+                default:
+                    return response(200);
+            }
+        });
+
+        Assert.assertEquals(result.getChunks().get(0).getAttempts(), 3);
+        Assert.assertTrue(result.isSuccess());
+    }
+
+    @Test
+    public void doesNotRetryNonTransientExceptions() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BulkResult result = BulkExecutor.execute(ITEMS, options(), chunk -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("Unsupported content type: text/plain");
+        });
+
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertFalse(result.isSuccess());
+
+        calls.set(0);
+        result = BulkExecutor.execute(ITEMS, options(), chunk -> {
+            calls.incrementAndGet();
+            throw new JsonProcessingException("Cannot serialize chunk") {
+            };
+        });
+
+        Assert.assertEquals(calls.get(), 1);
+        Assert.assertEquals(result.getChunks().get(0).getAttempts(), 1);
+    }
+
+    @Test
+    public void rejectsUndeclaredContentType() {
+        BulkOptions options = options().contentType("application/cbor");
+
+        options.requireDeclaredContentType("application/json", "application/cbor");
+        Assert.assertThrows(IllegalArgumentException.class, () -> options.requireDeclaredContentType("application/json"));
+    }
+
+    @Test
+    public void retriesConfiguredStatusCodesOnly() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        BulkResult result = BulkExecutor.execute(ITEMS, options().retryableStatusCodes(409), chunk ->
+                response(calls.incrementAndGet() == 1 ? 409 : 500));
+
+        Assert.assertEquals(calls.get(), 2);
+        Assert.assertEquals(result.getChunks().get(0).getStatusCode(), 500);
+    }
+
+    private static BulkOptions options() {
+        return new BulkOptions().chunkSize(ITEMS.size()).maxRetries(2).retryBackoffMillis(0);
+    }
+
+    private static Response response(int statusCode) {
+        return new ResponseBuilder().setStatusCode(statusCode).setBody("").build();
+    }
+}
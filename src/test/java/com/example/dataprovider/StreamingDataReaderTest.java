@@ -0,0 +1,72 @@
+package com.example.dataprovider;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+public class StreamingDataReaderTest {
+
+    public static class Category {
+        public Long id;
+        public String name;
+    }
+
+    public static class Tag {
+        public Long id;
+        public String name;
+    }
+
+    public static class Pet {
+        public Long id;
+        public String name;
+        public Category category;
+        public List<String> photoUrls;
+        public List<Tag> tags;
+    }
+
+    @Test
+    public void readsNestedObjectsAndListsFromCsv() throws Exception {
+        File file = File.createTempFile("Pet", ".csv");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList(
+                "id,name,category.id,category.name,photoUrls,tags",
+                "1,Rex,2,Dogs,\"[\"\"a.png\"\",\"\"b.png\"\"]\",\"[{\"\"id\"\":3,\"\"name\"\":\"\"good\"\"}]\"",
+                "2,\"Tom, the cat\",,,,"), StandardCharsets.UTF_8);
+
+        Iterator<Object[]> rows = StreamingDataReader.read(file, Pet.class);
+
+        Pet rex = (Pet) rows.next()[0];
+        Assert.assertEquals(rex.id, Long.valueOf(1));
+        Assert.assertEquals(rex.category.id, Long.valueOf(2));
+        Assert.assertEquals(rex.category.name, "Dogs");
+        Assert.assertEquals(rex.photoUrls, Arrays.asList("a.png", "b.png"));
+        Assert.assertEquals(rex.tags.get(0).name, "good");
+
+        Pet tom = (Pet) rows.next()[0];
+        Assert.assertEquals(tom.name, "Tom, the cat");
+        Assert.assertNull(tom.category);
+        Assert.assertFalse(rows.hasNext());
+    }
+
+    @Test
+    public void readsJsonLines() throws Exception {
+        File file = File.createTempFile("Pet", ".jsonl");
+        file.deleteOnExit();
+        Files.write(file.toPath(), Arrays.asList(
+                "{\"id\":1,\"category\":{\"name\":\"Dogs\"},\"tags\":[{\"name\":\"good\"}]}",
+                "",
+                "{\"id\":2,\"unknown\":true}"), StandardCharsets.UTF_8);
+
+        Iterator<Object[]> rows = StreamingDataReader.read(file, Pet.class);
+
+        Assert.assertEquals(((Pet) rows.next()[0]).category.name, "Dogs");
+        Assert.assertEquals(((Pet) rows.next()[0]).id, Long.valueOf(2));
+        Assert.assertFalse(rows.hasNext());
+    }
+}
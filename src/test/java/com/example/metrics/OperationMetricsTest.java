@@ -0,0 +1,47 @@
+package com.example.metrics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class OperationMetricsTest {
+
+    @Test
+    public void bucketsCoverEveryLatencyWithinTheirBounds() {
+        int previous = -1;
+        for (long micros : new long[]{0, 1, 7, 8, 9, 15, 16, 100, 1_000, 123_456, 10_000_000, Long.MAX_VALUE}) {
+            int index = OperationMetrics.bucketIndex(micros);
+            Assert.assertTrue(index >= previous && index < OperationMetrics.BUCKET_COUNT, "bucket of " + micros);
+            Assert.assertTrue(micros <= OperationMetrics.bucketUpperBound(index), "upper bound of " + micros);
+            if (index > 0) {
+                Assert.assertTrue(micros > OperationMetrics.bucketUpperBound(index - 1), "lower bound of " + micros);
+            }
+            previous = index;
+        }
+    }
+
+    @Test
+    public void resetKeepsCachedInstanceRecording() {
+        OperationMetrics metrics = OperationMetricsRegistry.get("test", "resetKeepsCachedInstanceRecording");
+        metrics.record(2_000_000, 500, 10, 20);
+        OperationMetricsRegistry.reset();
+        Assert.assertNull(findSnapshot());
+
+        metrics.record(1_000_000, 200, 10, 20);
+        Map<String, Object> snapshot = findSnapshot();
+        Assert.assertNotNull(snapshot);
+        Assert.assertEquals(snapshot.get("calls"), 1L);
+        Assert.assertEquals(snapshot.get("errors"), 0L);
+        Assert.assertEquals(snapshot.get("latencyMaxMicros"), 1_000L);
+    }
+
+    private Map<String, Object> findSnapshot() {
+        List<Map<String, Object>> snapshots = OperationMetricsRegistry.getSnapshots();
+        return snapshots.stream()
+                .filter(snapshot -> "resetKeepsCachedInstanceRecording".equals(snapshot.get("operationId")))
+                .findFirst()
+                .orElse(null);
+    }
+}